@@ -0,0 +1,15 @@
+package dev.xirreal;
+
+import net.fabricmc.api.ClientModInitializer;
+
+/**
+ * Client init is the latest point before the first frame that the mod can observe without mixins, so the
+ * relaunch handshake uses it as its time-to-ready.
+ */
+public class GfxDebuggersClient implements ClientModInitializer {
+
+   @Override
+   public void onInitializeClient() {
+      LaunchHandshake.onClientInit();
+   }
+}
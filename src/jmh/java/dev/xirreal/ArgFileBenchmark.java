@@ -0,0 +1,85 @@
+package dev.xirreal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArgFileBenchmark {
+
+   @Param({ "500", "2000" })
+   public int jars;
+
+   private List<String> args;
+
+   @Setup
+   public void setup() {
+      // Modpack-sized launch: long Windows paths with spaces, joined into one classpath argument
+      StringBuilder classPath = new StringBuilder();
+      for (int i = 0; i < jars; i++) {
+         if (i > 0) {
+            classPath.append(';');
+         }
+         classPath
+            .append("C:\\Users\\Some Player\\AppData\\Roaming\\PrismLauncher\\libraries\\com\\example\\group ")
+            .append(i % 17)
+            .append("\\artifact-")
+            .append(i)
+            .append("\\1.")
+            .append(i)
+            .append(".0\\artifact-")
+            .append(i)
+            .append("-1.")
+            .append(i)
+            .append(".0.jar");
+      }
+
+      args = new ArrayList<>();
+      args.add("-Xmx8G");
+      args.add("-Djava.library.path=C:\\Users\\Some Player\\AppData\\Roaming\\PrismLauncher\\instances\\Big Pack\\natives");
+      args.add("-cp");
+      args.add(classPath.toString());
+      args.add("net.fabricmc.loader.impl.launch.knot.KnotClient");
+      for (int i = 0; i < 20; i++) {
+         args.add("--arg" + i);
+         args.add("value with \"quotes\" and \\backslashes\\ " + i);
+      }
+   }
+
+   @Benchmark
+   public void quote(Blackhole bh) {
+      for (String arg : args) {
+         bh.consume(PlatformUtils.quoteForArgFile(arg));
+      }
+   }
+
+   @Benchmark
+   public long write() throws IOException {
+      Path argFile = PlatformUtils.writeArgFile(args);
+      try {
+         return Files.size(argFile);
+      } finally {
+         Files.delete(argFile);
+      }
+   }
+}
@@ -0,0 +1,125 @@
+package dev.xirreal;
+
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.JViewport;
+import javax.swing.table.TableRowSorter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The GPU Trace options card without a window: building the table and painting its first frame, painting a frame
+ * while scrolling, and filtering on a keystroke. All three should stay flat as the option count grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class GpuTraceOptionsBenchmark {
+
+   private static final int WIDTH = 400;
+   private static final int HEIGHT = 240;
+   private static final String[] QUERIES = { "s", "sa", "sam", "samp", "sample", "trace", "" };
+
+   @Param({ "50", "500", "2000" })
+   public int options;
+
+   private List<NgfxOption> schema;
+   private Properties savedConfig;
+   private BufferedImage frame;
+   private Graphics2D graphics;
+
+   private JScrollPane scrolled;
+   private GpuTraceOptionsModel filteredModel;
+   private TableRowSorter<GpuTraceOptionsModel> sorter;
+   private int step;
+
+   @Setup
+   public void setup() {
+      // A mix of every row kind, with long descriptions like the real help output
+      schema = new ArrayList<>();
+      savedConfig = new Properties();
+      for (int i = 0; i < options; i++) {
+         String flag = "--synthetic-option-" + i;
+         String description = "Synthetic option " + i + " that controls how the trace samples counters for pass " + (i % 13);
+         switch (i % 4) {
+            case 0:
+               schema.add(new NgfxOption(flag, false, null, description, false, false, List.of()));
+               break;
+            case 1:
+               schema.add(new NgfxOption(flag, true, "1", description, false, true, List.of()));
+               break;
+            case 2:
+               schema.add(new NgfxOption(flag, true, "medium", description, false, false, List.of("low", "medium", "high", "max")));
+               break;
+            default:
+               schema.add(new NgfxOption(flag, true, null, description, false, false, List.of()));
+               savedConfig.setProperty("opt." + flag, "value " + i);
+               break;
+         }
+      }
+
+      frame = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+      graphics = frame.createGraphics();
+
+      scrolled = open();
+      filteredModel = new GpuTraceOptionsModel(schema, savedConfig);
+      sorter = new TableRowSorter<>(filteredModel);
+      DebuggerPicker.createOptionsTable(filteredModel).setRowSorter(sorter);
+   }
+
+   @TearDown
+   public void tearDown() {
+      graphics.dispose();
+   }
+
+   private JScrollPane open() {
+      JTable table = DebuggerPicker.createOptionsTable(new GpuTraceOptionsModel(schema, savedConfig));
+      JScrollPane scrollPane = new JScrollPane(table);
+      scrollPane.setSize(WIDTH, HEIGHT);
+      scrollPane.doLayout();
+      scrollPane.getViewport().doLayout();
+      table.doLayout();
+      return scrollPane;
+   }
+
+   @Benchmark
+   public BufferedImage openAndPaint() {
+      open().paint(graphics);
+      return frame;
+   }
+
+   @Benchmark
+   public BufferedImage scrollFrame() {
+      JViewport viewport = scrolled.getViewport();
+      int range = Math.max(1, viewport.getView().getHeight() - viewport.getHeight());
+      viewport.setViewPosition(new Point(0, (step++ * 48) % range));
+      scrolled.paint(graphics);
+      return frame;
+   }
+
+   @Benchmark
+   public TableRowSorter<GpuTraceOptionsModel> filterKeystroke() {
+      sorter.setRowFilter(filteredModel.filter(QUERIES[step++ % QUERIES.length]));
+      return sorter;
+   }
+}
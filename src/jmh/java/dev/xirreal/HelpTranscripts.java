@@ -0,0 +1,61 @@
+package dev.xirreal;
+
+/**
+ * Generates synthetic {@code ngfx --help-all} transcripts shaped like the real thing, padded with extra activity
+ * sections until the requested size is reached.
+ */
+final class HelpTranscripts {
+
+   private HelpTranscripts() {}
+
+   static String generate(int targetBytes) {
+      StringBuilder sb = new StringBuilder(targetBytes + 4096);
+      sb.append("NVIDIA Nsight Graphics command line tool\n");
+      sb.append("Usage: ngfx [options]\n\n");
+      sb.append("General options:\n");
+      sb.append("  --help                                Print this help message\n");
+      sb.append("  --platform arg                        Target platform to use, must be one\n");
+      sb.append("                                        of:\n");
+      sb.append("                                          Windows\n");
+      sb.append("                                          Linux (x86_64)\n\n");
+      sb.append("  --activity arg                        Target activity to use, must be one\n");
+      sb.append("                                        of:\n");
+      sb.append("                                          Frame Debugger\n");
+      sb.append("                                          GPU Trace Profiler\n");
+      sb.append("                                          Generate C++ Capture\n");
+      sb.append("  --exe arg                             Executable to launch\n");
+      sb.append("  --args arg                            Arguments for the executable\n\n");
+
+      appendSection(sb, "GPU Trace Profiler", 0);
+      for (int section = 1; sb.length() < targetBytes; section++) {
+         appendSection(sb, "Synthetic Activity " + section, section);
+      }
+      return sb.toString();
+   }
+
+   private static void appendSection(StringBuilder sb, String activity, int seed) {
+      sb.append(activity).append(" activity options:\n");
+      for (int i = 0; i < 24; i++) {
+         String flag = "--option-" + seed + "-" + i;
+         switch (i % 4) {
+            case 0:
+               sb.append("  ").append(flag).append("                     Toggle feature ").append(i).append('\n');
+               break;
+            case 1:
+               sb.append("  ").append(flag).append(" arg (=1)            Enable feature ").append(i).append(" (deprecated on old drivers)\n");
+               break;
+            case 2:
+               sb.append("  ").append(flag).append(" arg (=Throughput Metrics)\n");
+               sb.append("                                        Metric set to collect, one of:\n");
+               sb.append("                                        - Throughput Metrics\n");
+               sb.append("                                        - Top-Level Triage\n");
+               break;
+            default:
+               sb.append("  ").append(flag).append(" arg                 Number of frames to capture before\n");
+               sb.append("                                        stopping the trace automatically\n");
+               break;
+         }
+      }
+      sb.append('\n');
+   }
+}
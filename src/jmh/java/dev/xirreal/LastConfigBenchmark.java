@@ -0,0 +1,65 @@
+package dev.xirreal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LastConfigBenchmark {
+
+   @Param({ "10", "1000", "20000" })
+   public int options;
+
+   private Path configFile;
+
+   @Setup
+   public void setup() throws IOException {
+      Properties config = new Properties();
+      config.setProperty("debugger", "GPU_TRACE");
+      config.setProperty("platform", "Windows");
+      for (int i = 0; i < options; i++) {
+         String value = i % 3 == 0 ? "true" : i % 3 == 1 ? "false" : "value " + i;
+         config.setProperty("opt.--option-" + i, value);
+         config.setProperty("unrelated.key." + i, "ignored");
+      }
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      config.store(out, "gfx-debuggers settings");
+      configFile = Files.createTempFile("gfx-debuggers-config-", ".properties");
+      Files.write(configFile, out.toByteArray());
+   }
+
+   @TearDown
+   public void tearDown() throws IOException {
+      Files.deleteIfExists(configFile);
+   }
+
+   @Benchmark
+   public DebuggerLaunchRequest loadAndBuild() throws IOException {
+      Properties config = new Properties();
+      try (InputStream in = Files.newInputStream(configFile)) {
+         config.load(in);
+      }
+      return GfxDebuggers.buildRequestFromConfig(config, true, true);
+   }
+}
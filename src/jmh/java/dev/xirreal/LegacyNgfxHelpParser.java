@@ -0,0 +1,111 @@
+package dev.xirreal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The buffered, regex-based parser that {@link NgfxHelpParser.StreamingParser} replaced, kept only as a baseline for
+ * {@link NgfxHelpParserBenchmark}.
+ */
+final class LegacyNgfxHelpParser {
+
+   private static final Pattern OPTION_LINE = Pattern.compile("^\\s{2}(--[a-zA-Z0-9][a-zA-Z0-9_-]*)(?:\\s+arg)?(?:\\s+\\(=(.+?)\\))?\\s*(.*)$");
+   private static final Pattern SECTION_HEADER = Pattern.compile("^(\\S.+?):\\s*$");
+   private static final Pattern DASH_CHOICE = Pattern.compile("^-\\s+(.+)$");
+
+   private LegacyNgfxHelpParser() {}
+
+   static int parse(List<String> lines) {
+      return parseList(lines, "--platform ", "Target platform").size()
+         + parseList(lines, "--activity ", "Target activity").size()
+         + parseActivityOptions(lines, "GPU Trace Profiler activity options").size();
+   }
+
+   private static List<String> parseList(List<String> lines, String trigger, String descriptionPrefix) {
+      List<String> values = new ArrayList<>();
+      boolean inDesc = false;
+      for (String line : lines) {
+         if (line.stripLeading().startsWith(trigger)) {
+            inDesc = true;
+            continue;
+         }
+         if (inDesc) {
+            String stripped = line.strip();
+            if (stripped.isEmpty()) {
+               continue;
+            }
+            if (line.startsWith("  --") || SECTION_HEADER.matcher(line).matches()) {
+               break;
+            }
+            if (!stripped.startsWith(descriptionPrefix) && !stripped.startsWith("of:")) {
+               values.add(stripped);
+            }
+         }
+      }
+      return values;
+   }
+
+   private static List<NgfxOption> parseActivityOptions(List<String> lines, String sectionName) {
+      List<NgfxOption> options = new ArrayList<>();
+      int sectionStart = -1;
+      for (int i = 0; i < lines.size(); i++) {
+         if (lines.get(i).strip().equalsIgnoreCase(sectionName + ":")) {
+            sectionStart = i + 1;
+            break;
+         }
+      }
+      if (sectionStart < 0) {
+         return options;
+      }
+
+      int i = sectionStart;
+      while (i < lines.size()) {
+         String line = lines.get(i);
+         if (!line.isEmpty() && !line.startsWith(" ") && SECTION_HEADER.matcher(line).matches()) {
+            break;
+         }
+         Matcher m = OPTION_LINE.matcher(line);
+         if (m.matches()) {
+            String flag = m.group(1);
+            String defaultVal = m.group(2);
+            boolean takesValue = line.contains(flag + " arg");
+            String descPart = m.group(3) != null ? m.group(3).strip() : "";
+            List<String> descLines = new ArrayList<>();
+            if (!descPart.isEmpty()) {
+               descLines.add(descPart);
+            }
+            i++;
+            while (i < lines.size()) {
+               String next = lines.get(i);
+               if (next.isEmpty()) {
+                  i++;
+                  continue;
+               }
+               if (next.startsWith("  --") || (!next.startsWith(" ") && SECTION_HEADER.matcher(next).matches())) {
+                  break;
+               }
+               String stripped = next.strip();
+               if (!stripped.isEmpty()) {
+                  descLines.add(stripped);
+               }
+               i++;
+            }
+            String description = String.join(" ", descLines);
+            List<String> choices = new ArrayList<>();
+            for (String desc : descLines) {
+               Matcher cm = DASH_CHOICE.matcher(desc);
+               if (cm.matches()) {
+                  choices.add(cm.group(1).strip());
+               }
+            }
+            boolean booleanArg = takesValue && defaultVal != null && (defaultVal.equals("0") || defaultVal.equals("1"));
+            options.add(new NgfxOption(flag, takesValue, defaultVal, description, description.toLowerCase().contains("deprecated"), booleanArg, choices));
+         } else {
+            i++;
+         }
+      }
+      return options;
+   }
+}
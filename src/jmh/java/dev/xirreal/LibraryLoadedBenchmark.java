@@ -0,0 +1,69 @@
+package dev.xirreal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LibraryLoadedBenchmark {
+
+   @Param({ "1000", "20000", "100000" })
+   public int mappings;
+
+   private Path maps;
+
+   @Setup
+   public void setup() throws IOException {
+      // Snapshot in /proc/self/maps format; the needle sits in the last mapping, as with a late-loaded library
+      StringBuilder sb = new StringBuilder();
+      long address = 0x7f0000000000L;
+      for (int i = 0; i < mappings; i++) {
+         String lib = i == mappings - 1 ? "/usr/lib/librenderdoc.so" : "/usr/lib/x86_64-linux-gnu/libsynthetic" + (i % 500) + ".so";
+         sb
+            .append(Long.toHexString(address))
+            .append('-')
+            .append(Long.toHexString(address + 0x1000))
+            .append(" r-xp 00000000 103:02 ")
+            .append(1000 + i)
+            .append("                   ")
+            .append(lib)
+            .append('\n');
+         address += 0x1000;
+      }
+      maps = Files.createTempFile("gfx-debuggers-maps-", ".txt");
+      Files.writeString(maps, sb);
+   }
+
+   @TearDown
+   public void tearDown() throws IOException {
+      Files.deleteIfExists(maps);
+   }
+
+   @Benchmark
+   public boolean hit() {
+      return PlatformUtils.isLibraryLoaded(maps, "librenderdoc");
+   }
+
+   @Benchmark
+   public boolean miss() {
+      return PlatformUtils.isLibraryLoaded(maps, "libnotloaded");
+   }
+}
@@ -0,0 +1,56 @@
+package dev.xirreal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NgfxHelpParserBenchmark {
+
+   @Param({ "1024", "65536", "1048576", "10485760" })
+   public int transcriptBytes;
+
+   private String transcript;
+
+   @Setup
+   public void setup() {
+      transcript = HelpTranscripts.generate(transcriptBytes);
+   }
+
+   @Benchmark
+   public NgfxHelpInfo streaming() throws IOException {
+      return NgfxHelpParser.parse(new BufferedReader(new StringReader(transcript)));
+   }
+
+   @Benchmark
+   public int legacy() throws IOException {
+      // The old parser buffered the whole output before scanning it, so buffering is part of its cost
+      List<String> lines = new ArrayList<>();
+      try (BufferedReader reader = new BufferedReader(new StringReader(transcript))) {
+         String line;
+         while ((line = reader.readLine()) != null) {
+            lines.add(line);
+         }
+      }
+      return LegacyNgfxHelpParser.parse(lines);
+   }
+}
@@ -0,0 +1,181 @@
+package dev.xirreal;
+
+import java.awt.GraphicsEnvironment;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
+
+/**
+ * Time to interactive of the real picker window: from the constructor to the first completed paint of the selection
+ * card, and from clicking GPU Trace to the first paint of the laid-out options card, for fixture option lists of
+ * increasing size. Needs a display, a virtual one is fine ({@code xvfb-run ./gradlew pickerBenchmark}).
+ *
+ * <p>Writes the medians and maxima to the JSON file given as the first argument. With {@code -Dpicker.budgetMs} set,
+ * exits with an error if any median exceeds that many milliseconds, or if there is no display to measure on.
+ */
+public final class PickerStartupBenchmark {
+
+   private static final int[] OPTION_COUNTS = { 0, 60, 500, 2000 };
+
+   private PickerStartupBenchmark() {}
+
+   public static void main(String[] args) throws Exception {
+      Path output = Paths.get(args.length > 0 ? args[0] : "picker-time-to-interactive.json");
+      int warmup = Integer.getInteger("picker.warmup", 3);
+      int iterations = Integer.getInteger("picker.iterations", 10);
+      Long budgetMs = Long.getLong("picker.budgetMs");
+
+      if (GraphicsEnvironment.isHeadless()) {
+         write(output, "{\n  \"skipped\": \"no display\"\n}\n");
+         System.out.println("No display to open the picker on, run under xvfb-run.");
+         if (budgetMs != null) {
+            System.exit(1);
+         }
+         return;
+      }
+
+      StringBuilder json = new StringBuilder("{\n");
+      json.append("  \"java\": \"").append(System.getProperty("java.version")).append("\",\n");
+      json.append("  \"iterations\": ").append(iterations).append(",\n");
+      json.append("  \"budgetMs\": ").append(budgetMs).append(",\n");
+      json.append("  \"results\": [");
+
+      List<String> overBudget = new ArrayList<>();
+      for (int i = 0; i < OPTION_COUNTS.length; i++) {
+         int options = OPTION_COUNTS[i];
+         NgfxHelpInfo help = fixture(options);
+         for (int w = 0; w < warmup; w++) {
+            measure(help);
+         }
+         double[] selection = new double[iterations];
+         double[] optionsCard = new double[iterations];
+         for (int n = 0; n < iterations; n++) {
+            double[] sample = measure(help);
+            selection[n] = sample[0];
+            optionsCard[n] = sample[1];
+         }
+         Arrays.sort(selection);
+         Arrays.sort(optionsCard);
+         double selectionMedian = selection[iterations / 2];
+         double optionsMedian = optionsCard[iterations / 2];
+
+         System.out.printf(
+            "%5d options: selection painted in %.1f ms (max %.1f), options card in %.1f ms (max %.1f)%n",
+            options,
+            selectionMedian,
+            selection[iterations - 1],
+            optionsMedian,
+            optionsCard[iterations - 1]
+         );
+         json.append(i > 0 ? "," : "").append("\n    {");
+         json.append("\"options\": ").append(options);
+         json.append(", \"selectionMedianMs\": ").append(round(selectionMedian));
+         json.append(", \"selectionMaxMs\": ").append(round(selection[iterations - 1]));
+         json.append(", \"optionsCardMedianMs\": ").append(round(optionsMedian));
+         json.append(", \"optionsCardMaxMs\": ").append(round(optionsCard[iterations - 1]));
+         json.append("}");
+
+         if (budgetMs != null && Math.max(selectionMedian, optionsMedian) > budgetMs) {
+            overBudget.add(options + " options");
+         }
+      }
+      json.append("\n  ]\n}\n");
+      write(output, json.toString());
+
+      if (!overBudget.isEmpty()) {
+         System.out.println("Over the " + budgetMs + " ms budget: " + String.join(", ", overBudget));
+         System.exit(1);
+      }
+      // The AWT threads would otherwise keep the JVM alive
+      System.exit(0);
+   }
+
+   /** Returns the milliseconds to the first selection card paint and from the GPU Trace click to the options card paint. */
+   private static double[] measure(NgfxHelpInfo help) throws Exception {
+      long[] marks = new long[3];
+      CountDownLatch done = new CountDownLatch(1);
+      DebuggerPicker[] picker = new DebuggerPicker[1];
+
+      long start = System.nanoTime();
+      SwingUtilities.invokeLater(() -> {
+         picker[0] = new DebuggerPicker(true, true, CompletableFuture.completedFuture(help), new Properties());
+         picker[0].afterNextPaint(() -> {
+            marks[0] = System.nanoTime();
+            // Let the frame settle like a user would before clicking
+            SwingUtilities.invokeLater(() -> {
+               marks[1] = System.nanoTime();
+               picker[0].afterNextPaint(() -> {
+                  marks[2] = System.nanoTime();
+                  done.countDown();
+               });
+               picker[0].showGpuTraceOptions();
+            });
+         });
+         picker[0].setVisible(true);
+      });
+
+      boolean painted = done.await(30, TimeUnit.SECONDS);
+      SwingUtilities.invokeAndWait(() -> {
+         if (picker[0] != null) {
+            picker[0].dispose();
+         }
+      });
+      if (!painted) {
+         throw new IllegalStateException("The picker never finished painting");
+      }
+      return new double[] { (marks[0] - start) / 1e6, (marks[2] - marks[1]) / 1e6 };
+   }
+
+   /** A help result with {@code count} GPU Trace options of every kind the panel shows. */
+   private static NgfxHelpInfo fixture(int count) {
+      List<NgfxOption> options = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+         String flag = "--fixture-option-" + i;
+         String description = "Fixture option " + i + " that controls how the trace samples counters for pass " + (i % 13);
+         switch (i % 4) {
+            case 0:
+               options.add(new NgfxOption(flag, false, null, description, false, false, List.of()));
+               break;
+            case 1:
+               options.add(new NgfxOption(flag, true, "1", description, false, true, List.of()));
+               break;
+            case 2:
+               options.add(new NgfxOption(flag, true, "medium", description, false, false, List.of("low", "medium", "high", "max")));
+               break;
+            default:
+               options.add(new NgfxOption(flag, true, null, description, false, false, List.of()));
+               break;
+         }
+      }
+      // Two platforms, so the options card opens even without options
+      return new NgfxHelpInfo(
+         List.of("Windows", "Linux (x86_64)"),
+         List.of(NgfxHelpInfo.GPU_TRACE_ACTIVITY),
+         Map.of(NgfxHelpInfo.GPU_TRACE_ACTIVITY, options)
+      );
+   }
+
+   private static double round(double ms) {
+      return Math.round(ms * 100) / 100.0;
+   }
+
+   private static void write(Path output, String json) throws IOException {
+      Path parent = output.toAbsolutePath().getParent();
+      if (parent != null) {
+         Files.createDirectories(parent);
+      }
+      Files.write(output, json.getBytes(StandardCharsets.UTF_8));
+      System.out.println("Results written to " + output);
+   }
+}
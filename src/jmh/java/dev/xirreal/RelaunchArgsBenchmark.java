@@ -0,0 +1,89 @@
+package dev.xirreal;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cold cost of reading the relaunch arguments. Every invocation starts a fresh JVM that reads them once, either from
+ * {@code /proc/self/cmdline} or through the {@code RuntimeMXBean}, and counts the classes it loaded. The score is
+ * the wall time of the whole child JVM, so compare it against {@code baseline}, which starts the same JVM without
+ * reading anything.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RelaunchArgsBenchmark {
+
+   @Param({ "baseline", "proc", "jmx" })
+   public String source;
+
+   @State(Scope.Thread)
+   @AuxCounters(AuxCounters.Type.EVENTS)
+   public static class ClassLoading {
+
+      public long classesLoaded;
+
+      @Setup(Level.Iteration)
+      public void reset() {
+         classesLoaded = 0;
+      }
+   }
+
+   @Benchmark
+   public int coldStart(ClassLoading counters) throws Exception {
+      String java = ProcessHandle.current().info().command().orElse("java");
+      ProcessBuilder pb = new ProcessBuilder(java, "-Xlog:class+load=info:stdout", "-cp", System.getProperty("java.class.path"), Probe.class.getName(), source);
+      pb.redirectErrorStream(true);
+      Process process = pb.start();
+
+      int classes = 0;
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+         String line;
+         while ((line = reader.readLine()) != null) {
+            if (line.contains("[class,load]")) {
+               classes++;
+            }
+         }
+      }
+      counters.classesLoaded += classes;
+      return process.waitFor();
+   }
+
+   public static class Probe {
+
+      public static void main(String[] args) {
+         List<String> result;
+         switch (args[0]) {
+            case "proc":
+               result = RelaunchCommandLine.readProcCmdline();
+               break;
+            case "jmx":
+               result = ManagementFactory.getRuntimeMXBean().getInputArguments();
+               break;
+            default:
+               result = List.of();
+               break;
+         }
+         System.exit(result == null ? 1 : 0);
+      }
+   }
+}
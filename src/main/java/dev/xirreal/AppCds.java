@@ -0,0 +1,123 @@
+package dev.xirreal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Dynamic AppCDS archives for the relaunched game JVM. The first relaunch for a given JDK and classpath dumps the
+ * loaded classes with {@code -XX:ArchiveClassesAtExit}; later ones map them with {@code -XX:SharedArchiveFile}.
+ * Archives live in a size-bounded directory under the data dir and are evicted least recently used first.
+ */
+final class AppCds {
+
+   static final String OFF = "off";
+   static final String DUMP = "dump";
+   static final String USE = "use";
+
+   private static final String DIR = "cds";
+   private static final long DEFAULT_MAX_MB = 512;
+
+   private static volatile String mode = OFF;
+
+   private AppCds() {}
+
+   static boolean enabled() {
+      return Boolean.getBoolean("debugger.appCds");
+   }
+
+   /** How the last relaunch command line was set up: {@link #OFF}, {@link #DUMP} or {@link #USE}. */
+   static String mode() {
+      return mode;
+   }
+
+   /** Adds the archive options to the relaunch arguments, returning them unchanged if no classpath can be found. */
+   static List<String> apply(List<String> args, String classPath) {
+      if (classPath == null) {
+         GfxDebuggers.LOGGER.info("Classpath is inside a launcher argfile, relaunching without a CDS archive.");
+         return args;
+      }
+
+      try {
+         Path dir = PlatformUtils.getDataDir().resolve(DIR);
+         Files.createDirectories(dir);
+         Path archive = dir.resolve(key(classPath) + ".jsa");
+
+         List<String> result = new ArrayList<>(args.size() + 1);
+         if (Files.isRegularFile(archive)) {
+            // Last-modified doubles as the LRU timestamp
+            Files.setLastModifiedTime(archive, FileTime.fromMillis(System.currentTimeMillis()));
+            result.add("-XX:SharedArchiveFile=" + archive);
+            mode = USE;
+         } else {
+            result.add("-XX:ArchiveClassesAtExit=" + archive);
+            mode = DUMP;
+         }
+         result.addAll(args);
+         evict(dir, archive);
+
+         LaunchTrace.attr("cds", mode);
+         GfxDebuggers.LOGGER.info("{} CDS archive {}", mode.equals(USE) ? "Using" : "Creating", archive);
+         return result;
+      } catch (IOException e) {
+         GfxDebuggers.LOGGER.warn("Could not prepare CDS archive: {}", e.getMessage());
+         return args;
+      }
+   }
+
+   /**
+    * Archives only match the JDK that wrote them and the exact classpath jars. The game classpath is part of the key
+    * too, since it hides behind a pathing jar.
+    */
+   private static String key(String classPath) {
+      return ClassPathFingerprint.of(classPath, System.getProperty("java.class.path", ""));
+   }
+
+   private static void evict(Path dir, Path keep) throws IOException {
+      long maxBytes = Long.getLong("debugger.appCds.maxMb", DEFAULT_MAX_MB) * 1024 * 1024;
+
+      List<Path> archives;
+      try (Stream<Path> files = Files.list(dir)) {
+         archives = new ArrayList<>(files.filter(p -> p.getFileName().toString().endsWith(".jsa")).toList());
+      }
+      archives.sort(Comparator.comparingLong(AppCds::lastModified));
+
+      long total = 0;
+      for (Path archive : archives) {
+         total += size(archive);
+      }
+      for (Path archive : archives) {
+         if (total <= maxBytes) {
+            break;
+         }
+         if (archive.equals(keep)) {
+            continue;
+         }
+         long size = size(archive);
+         Files.deleteIfExists(archive);
+         total -= size;
+         GfxDebuggers.LOGGER.info("Evicted CDS archive {}", archive.getFileName());
+      }
+   }
+
+   private static long lastModified(Path path) {
+      try {
+         return Files.getLastModifiedTime(path).toMillis();
+      } catch (IOException e) {
+         return 0;
+      }
+   }
+
+   private static long size(Path path) {
+      try {
+         return Files.size(path);
+      } catch (IOException e) {
+         return 0;
+      }
+   }
+}
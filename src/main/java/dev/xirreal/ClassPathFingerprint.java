@@ -0,0 +1,46 @@
+package dev.xirreal;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Short hash of the running JDK and the classpath jars, for caches that are only valid for the exact JVM and
+ * classpath that produced them. Entries are identified by real path, size and mtime, so replacing a jar in place
+ * changes the fingerprint too.
+ */
+final class ClassPathFingerprint {
+
+   private ClassPathFingerprint() {}
+
+   static String of(String... classPaths) {
+      StringBuilder identity = new StringBuilder();
+      identity.append(System.getProperty("java.home")).append('|').append(System.getProperty("java.vm.name")).append('|').append(System.getProperty("java.vm.version"));
+      for (String classPath : classPaths) {
+         for (Path entry : PathingJar.canonicalEntries(classPath)) {
+            identity.append('|').append(entry);
+            try {
+               BasicFileAttributes attrs = Files.readAttributes(entry, BasicFileAttributes.class);
+               identity.append('|').append(attrs.size()).append('|').append(attrs.lastModifiedTime().toMillis());
+            } catch (IOException e) {
+               identity.append("|-");
+            }
+         }
+      }
+
+      try {
+         byte[] digest = MessageDigest.getInstance("SHA-256").digest(identity.toString().getBytes(StandardCharsets.UTF_8));
+         StringBuilder sb = new StringBuilder();
+         for (int i = 0; i < 8; i++) {
+            sb.append(String.format("%02x", digest[i]));
+         }
+         return sb.toString();
+      } catch (NoSuchAlgorithmException e) {
+         throw new IllegalStateException(e);
+      }
+   }
+}
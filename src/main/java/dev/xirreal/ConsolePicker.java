@@ -0,0 +1,177 @@
+package dev.xirreal;
+
+import java.io.Console;
+import java.io.IOError;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Text mode picker on {@link System#console()}, for headless machines, SSH sessions and anyone who would rather not
+ * pay for AWT's start-up. Lists the available debuggers with the saved GPU Trace options, and picks the saved (or
+ * first) debugger on its own once {@code -Ddebugger.pickerTimeout} seconds (10 by default) pass without input.
+ */
+final class ConsolePicker {
+
+   // Compared by identity, so no typed line can be mistaken for it
+   private static final String EOF = new String("<eof>");
+
+   private ConsolePicker() {}
+
+   /** True if {@code -Ddebugger.picker=console} is set, or if there is a terminal but no display to show a window on. */
+   static boolean preferred() {
+      if ("console".equalsIgnoreCase(System.getProperty("debugger.picker"))) {
+         return true;
+      }
+      // Must run before the picker properties force java.awt.headless to false
+      return System.console() != null && java.awt.GraphicsEnvironment.isHeadless();
+   }
+
+   /** Asks on the console and blocks until answered or timed out. Returns null if there is no console. */
+   static DebuggerLaunchRequest pick(boolean renderdocAvailable, boolean ngfxAvailable, CompletableFuture<NgfxHelpInfo> ngfxHelp) {
+      Console console = System.console();
+      if (console == null) {
+         GfxDebuggers.LOGGER.warn("No console available to pick a debugger on.");
+         return null;
+      }
+
+      Properties saved = PickerConfig.load();
+      List<DebuggerSelection> choices = new ArrayList<>();
+      if (ngfxAvailable) {
+         choices.add(DebuggerSelection.GPU_TRACE);
+         choices.add(DebuggerSelection.FRAME_DEBUGGER);
+      }
+      if (renderdocAvailable) {
+         choices.add(DebuggerSelection.RENDERDOC);
+      }
+
+      DebuggerSelection fallback = choices.get(0);
+      String savedDebugger = saved.getProperty("debugger");
+      for (DebuggerSelection choice : choices) {
+         if (choice.name().equals(savedDebugger)) {
+            fallback = choice;
+         }
+      }
+
+      long timeoutSeconds = Long.getLong("debugger.pickerTimeout", 10);
+      PrintWriter out = console.writer();
+      out.println();
+      out.println("Graphics Debugger Selector");
+      for (int i = 0; i < choices.size(); i++) {
+         out.printf("  [%d] %s%n", i + 1, choices.get(i).displayName);
+         if (choices.get(i) == DebuggerSelection.GPU_TRACE) {
+            printSavedOptions(out, saved);
+         }
+      }
+      out.println("  [0] None, launch the game normally");
+
+      int defaultIndex = choices.indexOf(fallback) + 1;
+      BlockingQueue<String> lines = startReader(console);
+      long deadline = timeoutSeconds > 0 ? System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds) : Long.MAX_VALUE;
+      DebuggerSelection selection = null;
+      while (selection == null) {
+         if (timeoutSeconds > 0) {
+            out.printf("Choice [%d, picked in %d s]: ", defaultIndex, Math.max(0, (deadline - System.nanoTime() + 999_999_999L) / 1_000_000_000L));
+         } else {
+            out.printf("Choice [%d]: ", defaultIndex);
+         }
+         out.flush();
+
+         String line;
+         try {
+            line = timeoutSeconds > 0 ? lines.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS) : lines.take();
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+         }
+
+         if (line == null || line == EOF) {
+            out.println();
+            out.println("No answer, using " + fallback.displayName + ".");
+            selection = fallback;
+         } else if (line.isBlank()) {
+            selection = fallback;
+         } else {
+            int index;
+            try {
+               index = Integer.parseInt(line.strip());
+            } catch (NumberFormatException e) {
+               index = -1;
+            }
+            if (index == 0) {
+               selection = DebuggerSelection.NONE;
+            } else if (index > 0 && index <= choices.size()) {
+               selection = choices.get(index - 1);
+            } else {
+               out.println("Please enter a number between 0 and " + choices.size() + ".");
+            }
+         }
+      }
+      out.flush();
+
+      if (selection == DebuggerSelection.NONE) {
+         return new DebuggerLaunchRequest(DebuggerSelection.NONE);
+      }
+
+      // Remembered like the window picker does, keeping the saved GPU Trace options for next time
+      saved.setProperty("debugger", selection.name());
+      PickerConfig.save(saved);
+
+      DebuggerLaunchRequest request = GfxDebuggers.buildRequestFromConfig(saved, renderdocAvailable, ngfxAvailable);
+      if (selection != DebuggerSelection.GPU_TRACE) {
+         request = new DebuggerLaunchRequest(selection, null, List.of());
+      }
+      if (request.platform == null) {
+         NgfxHelpInfo help = ngfxHelp.getNow(null);
+         if (help != null && help.platforms.size() == 1) {
+            request = new DebuggerLaunchRequest(request.selection, help.platforms.get(0), request.extraArgs);
+         }
+      }
+      return request;
+   }
+
+   private static void printSavedOptions(PrintWriter out, Properties saved) {
+      Map<String, String> options = new TreeMap<>();
+      for (String key : saved.stringPropertyNames()) {
+         String value = saved.getProperty(key);
+         if (key.startsWith("opt.") && !value.isEmpty() && !value.equals("false")) {
+            options.put(key.substring(4), value);
+         }
+      }
+      if (saved.getProperty("platform") != null) {
+         out.println("        platform: " + saved.getProperty("platform"));
+      }
+      for (Map.Entry<String, String> option : options.entrySet()) {
+         out.println("        " + option.getKey() + (option.getValue().equals("true") ? "" : " " + option.getValue()));
+      }
+   }
+
+   private static BlockingQueue<String> startReader(Console console) {
+      BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+      Thread reader = new Thread(
+         () -> {
+            try {
+               String line;
+               while ((line = console.readLine()) != null) {
+                  lines.add(line);
+               }
+            } catch (IOError e) {
+               // Treated like the end of input
+            }
+            lines.add(EOF);
+         },
+         "gfx-debuggers-console-picker"
+      );
+      // Left blocked on stdin if the timeout picks for the user
+      reader.setDaemon(true);
+      reader.start();
+      return lines;
+   }
+}
@@ -5,26 +5,20 @@ import java.awt.event.*;
 import java.awt.geom.*;
 import java.awt.image.*;
 import java.io.*;
-import java.nio.file.*;
 import java.util.*;
 import java.util.List;
 import java.util.concurrent.*;
-import javax.imageio.*;
 import javax.swing.*;
 import javax.swing.border.*;
+import javax.swing.event.*;
 import javax.swing.plaf.basic.*;
-import net.fabricmc.loader.api.FabricLoader;
+import javax.swing.table.*;
 
 public class DebuggerPicker extends JFrame {
 
-   private final CountDownLatch latch = new CountDownLatch(1);
+   private static final long serialVersionUID = 1L;
 
-   public static enum DebuggerSelection {
-      GPU_TRACE,
-      FRAME_DEBUGGER,
-      RENDERDOC,
-      NONE,
-   }
+   private final CountDownLatch latch = new CountDownLatch(1);
 
    private DebuggerLaunchRequest request = new DebuggerLaunchRequest(DebuggerSelection.NONE);
 
@@ -45,39 +39,42 @@ public class DebuggerPicker extends JFrame {
 
    private final boolean renderdocAvailable;
    private final boolean ngfxAvailable;
-   private final NgfxHelpInfo ngfxHelp;
+   private NgfxHelpInfo ngfxHelp;
+   private boolean helpPending;
    private final Properties savedConfig;
 
    private CardLayout cardLayout;
    private JPanel cardPanel;
+   private JPanel gpuTracePanel;
    private Dimension selectionSize;
+   // Only touched on the EDT
+   private Map<String, BufferedImage> icons = Map.of();
+   private Runnable paintHook;
+   // The debuggers in card order, picked with the number keys
+   private final List<DebuggerSelection> shortcuts = new ArrayList<>();
+   private DebuggerSelection lastSelection;
+   private JLabel statusLabel;
+   private javax.swing.Timer countdown;
+   private AWTEventListener countdownCanceller;
 
-   private static Path getConfigPath() {
-      return FabricLoader.getInstance().getConfigDir().resolve("gfx-debuggers.properties");
-   }
-
-   static Properties loadConfig() {
-      Properties props = new Properties();
-      Path path = getConfigPath();
-      if (Files.exists(path)) {
-         try (InputStream in = Files.newInputStream(path)) {
-            props.load(in);
-         } catch (IOException ignored) {}
-      }
-      return props;
+   public DebuggerPicker(boolean renderdocAvailable, boolean ngfxAvailable, NgfxHelpInfo ngfxHelp) {
+      this(renderdocAvailable, ngfxAvailable, CompletableFuture.completedFuture(ngfxHelp));
    }
 
-   private static void saveConfig(Properties props) {
-      try (OutputStream out = Files.newOutputStream(getConfigPath())) {
-         props.store(out, "gfx-debuggers settings");
-      } catch (IOException ignored) {}
+   /**
+    * Opens without waiting for {@code ngfxHelp}; until it completes, the GPU Trace options card shows a loading
+    * state and is rebuilt in place once the options arrive.
+    */
+   public DebuggerPicker(boolean renderdocAvailable, boolean ngfxAvailable, CompletableFuture<NgfxHelpInfo> ngfxHelp) {
+      this(renderdocAvailable, ngfxAvailable, ngfxHelp, PickerConfig.load());
    }
 
-   public DebuggerPicker(boolean renderdocAvailable, boolean ngfxAvailable, NgfxHelpInfo ngfxHelp) {
+   DebuggerPicker(boolean renderdocAvailable, boolean ngfxAvailable, CompletableFuture<NgfxHelpInfo> ngfxHelp, Properties savedConfig) {
       this.renderdocAvailable = renderdocAvailable;
       this.ngfxAvailable = ngfxAvailable;
-      this.ngfxHelp = ngfxHelp;
-      this.savedConfig = loadConfig();
+      this.helpPending = !ngfxHelp.isDone();
+      this.ngfxHelp = helpPending ? null : ngfxHelp.exceptionally(e -> null).join();
+      this.savedConfig = savedConfig;
 
       UIManager.put("ToolTip.background", BG_SURFACE);
       UIManager.put("ToolTip.foreground", TEXT_PRIMARY);
@@ -90,28 +87,29 @@ public class DebuggerPicker extends JFrame {
       setTitle("Graphics Debugger Selector");
       setDefaultCloseOperation(DISPOSE_ON_CLOSE);
       setResizable(false);
-      try {
-         BufferedImage rawIcon = ImageIO.read(DebuggerPicker.class.getResourceAsStream("/assets/gfx-debuggers/icon.png"));
-         int size = rawIcon.getWidth();
-         BufferedImage roundedIcon = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
-         Graphics2D ig = roundedIcon.createGraphics();
-         ig.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-         ig.setColor(Color.WHITE);
-         ig.fill(new RoundRectangle2D.Float(0, 0, size, size, size * 0.25f, size * 0.25f));
-         ig.setComposite(AlphaComposite.SrcIn);
-         ig.drawImage(rawIcon, 0, 0, null);
-         ig.dispose();
-         setIconImage(roundedIcon);
-      } catch (Exception ignored) {}
+      // Decoded off the EDT; the cards paint placeholders until the icons are in
+      PickerIcons.load().thenAccept(loaded ->
+         SwingUtilities.invokeLater(() -> {
+            icons = loaded;
+            BufferedImage windowIcon = loaded.get(PickerIcons.WINDOW_ICON);
+            if (windowIcon != null) {
+               setIconImage(windowIcon);
+            }
+            repaint();
+         })
+      );
       addWindowListener(
          new WindowAdapter() {
             @Override
             public void windowClosed(WindowEvent e) {
+               stopCountdown();
                latch.countDown();
             }
          }
       );
 
+      lastSelection = savedSelection();
+
       JPanel root = new JPanel(new BorderLayout()) {
          @Override
          protected void paintComponent(Graphics g) {
@@ -121,6 +119,16 @@ public class DebuggerPicker extends JFrame {
             g2.fill(new Rectangle2D.Float(0, 0, getWidth(), getHeight()));
             g2.dispose();
          }
+
+         @Override
+         public void paint(Graphics g) {
+            super.paint(g);
+            Runnable hook = paintHook;
+            if (hook != null) {
+               paintHook = null;
+               hook.run();
+            }
+         }
       };
       root.setOpaque(false);
       root.setBorder(BorderFactory.createEmptyBorder(16, 24, 16, 24));
@@ -130,7 +138,8 @@ public class DebuggerPicker extends JFrame {
       cardPanel.setOpaque(false);
 
       cardPanel.add(buildSelectionPanel(), "selection");
-      cardPanel.add(buildGpuTraceOptionsPanel(), "gpu-trace-options");
+      gpuTracePanel = helpPending ? buildGpuTraceLoadingPanel() : buildGpuTraceOptionsPanel();
+      cardPanel.add(gpuTracePanel, "gpu-trace-options");
 
       root.add(cardPanel, BorderLayout.CENTER);
       setContentPane(root);
@@ -159,6 +168,179 @@ public class DebuggerPicker extends JFrame {
       pack();
       selectionSize = getSize();
       setLocationRelativeTo(null);
+
+      if (helpPending) {
+         ngfxHelp.whenComplete((info, e) -> SwingUtilities.invokeLater(() -> onHelpReady(info)));
+      }
+
+      int autoLaunch = PickerConfig.autoLaunchSeconds(savedConfig);
+      if (autoLaunch > 0 && lastSelection != null) {
+         addWindowListener(
+            new WindowAdapter() {
+               @Override
+               public void windowOpened(WindowEvent e) {
+                  startCountdown(autoLaunch);
+               }
+            }
+         );
+      }
+   }
+
+   /** The saved debugger if its card is shown, i.e. if {@code -Ddebugger=last} would launch it. */
+   private DebuggerSelection savedSelection() {
+      String name = savedConfig.getProperty("debugger");
+      if (name == null) {
+         return null;
+      }
+      try {
+         DebuggerSelection selection = DebuggerSelection.valueOf(name);
+         boolean available = selection == DebuggerSelection.RENDERDOC ? renderdocAvailable : ngfxAvailable;
+         return selection != DebuggerSelection.NONE && available ? selection : null;
+      } catch (IllegalArgumentException e) {
+         return null;
+      }
+   }
+
+   private void startCountdown(int seconds) {
+      int[] remaining = { seconds };
+      statusLabel.setText(countdownText(remaining[0]));
+      statusLabel.setForeground(ACCENT_BLUE);
+      countdown = new javax.swing.Timer(1000, e -> {
+         remaining[0]--;
+         if (remaining[0] > 0) {
+            statusLabel.setText(countdownText(remaining[0]));
+         } else {
+            stopCountdown();
+            launchLastSelection();
+         }
+      });
+      countdown.start();
+
+      // A key press, click or drag in the window means someone is there to choose. Plain movement doesn't count, the
+      // window may well open under a pointer nobody is touching.
+      countdownCanceller = event -> {
+         int id = event.getID();
+         boolean input = id == KeyEvent.KEY_PRESSED || id == MouseEvent.MOUSE_PRESSED || id == MouseEvent.MOUSE_DRAGGED;
+         if (input && event.getSource() instanceof Component source && (source == this || SwingUtilities.getWindowAncestor(source) == this)) {
+            stopCountdown();
+         }
+      };
+      Toolkit
+         .getDefaultToolkit()
+         .addAWTEventListener(
+            countdownCanceller,
+            AWTEvent.KEY_EVENT_MASK | AWTEvent.MOUSE_EVENT_MASK | AWTEvent.MOUSE_MOTION_EVENT_MASK
+         );
+   }
+
+   private String countdownText(int seconds) {
+      return "Launching " + lastSelection.displayName + " in " + seconds + " s, any input cancels";
+   }
+
+   private void stopCountdown() {
+      if (countdown != null) {
+         countdown.stop();
+         countdown = null;
+         statusLabel.setText(shortcutHint());
+         statusLabel.setForeground(TEXT_SECONDARY);
+      }
+      if (countdownCanceller != null) {
+         Toolkit.getDefaultToolkit().removeAWTEventListener(countdownCanceller);
+         countdownCanceller = null;
+      }
+   }
+
+   /** Launches the saved config exactly like {@code -Ddebugger=last} would. */
+   private void launchLastSelection() {
+      if (lastSelection == null) {
+         return;
+      }
+      DebuggerLaunchRequest last = GfxDebuggers.buildRequestFromConfig(savedConfig, renderdocAvailable, ngfxAvailable);
+      if (last == null) {
+         statusLabel.setText("The last used debugger can't be launched");
+         return;
+      }
+      request = last;
+      dispose();
+   }
+
+   private String shortcutHint() {
+      String hint = shortcuts.size() > 1 ? "Press 1-" + shortcuts.size() + " to choose" : "Press 1 to choose";
+      if (lastSelection != null) {
+         hint += ", Enter for " + lastSelection.displayName;
+      }
+      return hint + ", Esc to skip";
+   }
+
+   private void showSelection() {
+      cardLayout.show(cardPanel, "selection");
+      setResizable(false);
+      setSize(selectionSize);
+   }
+
+   private static void bindKey(JComponent component, String key, Runnable action) {
+      component.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(key), key);
+      component
+         .getActionMap()
+         .put(
+            key,
+            new AbstractAction() {
+               @Override
+               public void actionPerformed(ActionEvent e) {
+                  action.run();
+               }
+            }
+         );
+   }
+
+   /** Runs {@code hook} on the EDT once the window contents, children included, have next been painted. */
+   void afterNextPaint(Runnable hook) {
+      paintHook = hook;
+   }
+
+   /** Switches to the GPU Trace options card as if its card had been clicked. */
+   void showGpuTraceOptions() {
+      selectDebugger(DebuggerSelection.GPU_TRACE);
+   }
+
+   private void onHelpReady(NgfxHelpInfo info) {
+      ngfxHelp = info;
+      helpPending = false;
+
+      boolean showing = gpuTracePanel.isVisible();
+      cardPanel.remove(gpuTracePanel);
+      gpuTracePanel = buildGpuTraceOptionsPanel();
+      cardPanel.add(gpuTracePanel, "gpu-trace-options");
+      if (showing) {
+         cardLayout.show(cardPanel, "gpu-trace-options");
+         pack();
+         setSize(Math.max(getWidth(), 500), Math.max(getHeight(), 450));
+      }
+   }
+
+   private JPanel buildGpuTraceLoadingPanel() {
+      JPanel panel = new JPanel(new BorderLayout());
+      panel.setOpaque(false);
+
+      JLabel title = new JLabel("GPU Trace Profiler Options");
+      title.setFont(FONT_BUTTON);
+      title.setForeground(TEXT_PRIMARY);
+      JPanel titleCenter = new JPanel(new FlowLayout(FlowLayout.CENTER, 0, 0));
+      titleCenter.setOpaque(false);
+      titleCenter.setBorder(BorderFactory.createEmptyBorder(0, 0, 14, 0));
+      titleCenter.add(title);
+      panel.add(titleCenter, BorderLayout.NORTH);
+
+      JLabel loading = new JLabel("Reading options from ngfx...", SwingConstants.CENTER);
+      loading.setFont(FONT_BODY);
+      loading.setForeground(TEXT_SECONDARY);
+      loading.setPreferredSize(new Dimension(400, 240));
+      panel.add(loading, BorderLayout.CENTER);
+
+      JPanel backBtn = createActionButton("Back", TEXT_SECONDARY, this::showSelection);
+      panel.add(backBtn, BorderLayout.SOUTH);
+      bindKey(panel, "ESCAPE", this::showSelection);
+      return panel;
    }
 
    private JPanel buildSelectionPanel() {
@@ -177,6 +359,15 @@ public class DebuggerPicker extends JFrame {
       subtitleCenter.setOpaque(false);
       subtitleCenter.add(subtitle);
       header.add(subtitleCenter);
+      header.add(Box.createVerticalStrut(6));
+
+      statusLabel = new JLabel(" ");
+      statusLabel.setFont(FONT_SMALL);
+      statusLabel.setForeground(TEXT_SECONDARY);
+      JPanel statusCenter = new JPanel(new FlowLayout(FlowLayout.CENTER, 0, 0));
+      statusCenter.setOpaque(false);
+      statusCenter.add(statusLabel);
+      header.add(statusCenter);
 
       panel.add(header, BorderLayout.NORTH);
 
@@ -193,9 +384,10 @@ public class DebuggerPicker extends JFrame {
                "Record and analyze GPU frame timings and performance metrics",
                ACCENT_ORANGE,
                DebuggerSelection.GPU_TRACE,
-               createImageIcon("/assets/gfx-debuggers/gpu-trace.png")
+               createIcon("gpu-trace")
             )
          );
+         shortcuts.add(DebuggerSelection.GPU_TRACE);
          cards.add(Box.createVerticalStrut(8));
          cards.add(
             createDebuggerCard(
@@ -203,9 +395,10 @@ public class DebuggerPicker extends JFrame {
                "Capture and inspect individual rendered frames",
                ACCENT_BLUE,
                DebuggerSelection.FRAME_DEBUGGER,
-               createImageIcon("/assets/gfx-debuggers/frame-debugger.png")
+               createIcon("frame-debugger")
             )
          );
+         shortcuts.add(DebuggerSelection.FRAME_DEBUGGER);
          hasCards = true;
       }
 
@@ -219,9 +412,10 @@ public class DebuggerPicker extends JFrame {
                "Open-source and cross-vendor graphics debugging tool",
                ACCENT_GREEN,
                DebuggerSelection.RENDERDOC,
-               createImageIcon("/assets/gfx-debuggers/renderdoc.png")
+               createIcon("renderdoc")
             )
          );
+         shortcuts.add(DebuggerSelection.RENDERDOC);
          hasCards = true;
       }
 
@@ -242,13 +436,23 @@ public class DebuggerPicker extends JFrame {
       cards.add(sep);
       cards.add(Box.createVerticalStrut(16));
 
-      JPanel skipBtn = createActionButton("Skip injection", TEXT_SECONDARY, () -> {
+      Runnable skip = () -> {
          request = new DebuggerLaunchRequest(DebuggerSelection.NONE);
          dispose();
-      });
+      };
+      JPanel skipBtn = createActionButton("Skip injection", TEXT_SECONDARY, skip);
       cards.add(skipBtn);
 
       panel.add(cards, BorderLayout.CENTER);
+
+      for (int i = 0; i < shortcuts.size(); i++) {
+         DebuggerSelection selection = shortcuts.get(i);
+         bindKey(panel, String.valueOf(i + 1), () -> selectDebugger(selection));
+         bindKey(panel, "NUMPAD" + (i + 1), () -> selectDebugger(selection));
+      }
+      bindKey(panel, "ENTER", this::launchLastSelection);
+      bindKey(panel, "ESCAPE", skip);
+      statusLabel.setText(shortcutHint());
       return panel;
    }
 
@@ -259,7 +463,7 @@ public class DebuggerPicker extends JFrame {
       JPanel header = new JPanel();
       header.setLayout(new BoxLayout(header, BoxLayout.Y_AXIS));
       header.setOpaque(false);
-      header.setBorder(BorderFactory.createEmptyBorder(0, 0, 14, 0));
+      header.setBorder(BorderFactory.createEmptyBorder(0, 0, 8, 0));
 
       JLabel title = new JLabel("GPU Trace Profiler Options");
       title.setFont(FONT_BUTTON);
@@ -271,132 +475,61 @@ public class DebuggerPicker extends JFrame {
 
       panel.add(header, BorderLayout.NORTH);
 
-      JPanel optionsContainer = new JPanel();
-      optionsContainer.setLayout(new BoxLayout(optionsContainer, BoxLayout.Y_AXIS));
-      optionsContainer.setOpaque(false);
+      JPanel controls = new JPanel();
+      controls.setLayout(new BoxLayout(controls, BoxLayout.Y_AXIS));
+      controls.setOpaque(false);
+      controls.setBorder(BorderFactory.createEmptyBorder(14, 0, 0, 0));
 
       List<String> platforms = ngfxHelp != null ? ngfxHelp.platforms : List.of();
       List<NgfxOption> options = ngfxHelp != null ? ngfxHelp.gpuTraceOptions : List.of();
 
-      JComboBox<String> platformCombo = null;
-      // if (platforms.size() > 1) {
-      JPanel platformRow = new JPanel(new BorderLayout(8, 0));
-      platformRow.setOpaque(false);
-      platformRow.setMaximumSize(new Dimension(Integer.MAX_VALUE, 36));
-      platformRow.setAlignmentX(Component.LEFT_ALIGNMENT);
-
-      JLabel platformLabel = new JLabel("Platform");
-      platformLabel.setFont(FONT_BODY);
-      platformLabel.setForeground(TEXT_PRIMARY);
-      platformLabel.setPreferredSize(new Dimension(140, 28));
-      platformRow.add(platformLabel, BorderLayout.WEST);
-
-      platformCombo = createStyledComboBox(platforms.toArray(new String[0]));
+      JComboBox<String> platformCombo = createStyledComboBox(platforms.toArray(new String[0]));
       String savedPlatform = savedConfig.getProperty("platform");
       if (savedPlatform != null) {
          platformCombo.setSelectedItem(savedPlatform);
       }
-      platformRow.add(platformCombo, BorderLayout.CENTER);
-
-      optionsContainer.add(platformRow);
-      optionsContainer.add(Box.createVerticalStrut(8));
-      // }
-
-      Map<NgfxOption, JCheckBox> checkBoxes = new LinkedHashMap<>();
-      Map<NgfxOption, JTextField> textFields = new LinkedHashMap<>();
-      Map<NgfxOption, JComboBox<String>> comboBoxes = new LinkedHashMap<>();
-
-      for (NgfxOption opt : options) {
-         if (opt.deprecated) {
-            continue;
-         }
-
-         if (!opt.takesValue) {
-            JCheckBox cb = createStyledCheckBox(formatLabel(opt.flag));
-            cb.setToolTipText(opt.description);
-            cb.setAlignmentX(Component.LEFT_ALIGNMENT);
-            String saved = savedConfig.getProperty("opt." + opt.flag);
-            if (saved != null) {
-               cb.setSelected("true".equals(saved));
-            } else if (opt.flag.equals("--start-after-hotkey")) {
-               cb.setSelected(true);
-            }
-            checkBoxes.put(opt, cb);
-            optionsContainer.add(cb);
-            optionsContainer.add(Box.createVerticalStrut(6));
-         } else if (opt.booleanArg) {
-            JCheckBox cb = createStyledCheckBox(formatLabel(opt.flag));
-            cb.setToolTipText(opt.description);
-            cb.setAlignmentX(Component.LEFT_ALIGNMENT);
-            String saved = savedConfig.getProperty("opt." + opt.flag);
-            if (saved != null) {
-               cb.setSelected("true".equals(saved));
-            } else {
-               cb.setSelected("1".equals(opt.defaultValue));
-            }
-            checkBoxes.put(opt, cb);
-            optionsContainer.add(cb);
-            optionsContainer.add(Box.createVerticalStrut(6));
-         } else if (!opt.choices.isEmpty()) {
-            JPanel row = new JPanel(new BorderLayout(8, 0));
-            row.setOpaque(false);
-            row.setMaximumSize(new Dimension(Integer.MAX_VALUE, 36));
-            row.setAlignmentX(Component.LEFT_ALIGNMENT);
-
-            JLabel label = new JLabel(formatLabel(opt.flag));
-            label.setFont(FONT_BODY);
-            label.setForeground(TEXT_PRIMARY);
-            label.setPreferredSize(new Dimension(140, 28));
-            label.setToolTipText(opt.description);
-            row.add(label, BorderLayout.WEST);
-
-            JComboBox<String> combo = createStyledComboBox(opt.choices.toArray(new String[0]));
-            combo.setToolTipText(opt.description);
-            String savedCombo = savedConfig.getProperty("opt." + opt.flag);
-            if (savedCombo != null) {
-               combo.setSelectedItem(savedCombo);
-            } else if (opt.defaultValue != null) {
-               combo.setSelectedItem(opt.defaultValue);
-            }
-            comboBoxes.put(opt, combo);
-            row.add(combo, BorderLayout.CENTER);
+      controls.add(createLabeledRow("Platform", platformCombo));
+      controls.add(Box.createVerticalStrut(8));
+
+      GpuTraceOptionsModel model = new GpuTraceOptionsModel(options, savedConfig);
+      JTable table = createOptionsTable(model);
+      TableRowSorter<GpuTraceOptionsModel> sorter = new TableRowSorter<>(model);
+      sorter.setSortable(GpuTraceOptionsModel.LABEL_COLUMN, false);
+      sorter.setSortable(GpuTraceOptionsModel.VALUE_COLUMN, false);
+      table.setRowSorter(sorter);
+
+      JTextField filterField = createStyledTextField("");
+      filterField.setToolTipText("Searches option names and descriptions");
+      filterField
+         .getDocument()
+         .addDocumentListener(
+            new DocumentListener() {
+               @Override
+               public void insertUpdate(DocumentEvent e) {
+                  changedUpdate(e);
+               }
 
-            optionsContainer.add(row);
-            optionsContainer.add(Box.createVerticalStrut(6));
-         } else {
-            JPanel row = new JPanel(new BorderLayout(8, 0));
-            row.setOpaque(false);
-            row.setMaximumSize(new Dimension(Integer.MAX_VALUE, 36));
-            row.setAlignmentX(Component.LEFT_ALIGNMENT);
-
-            JLabel label = new JLabel(formatLabel(opt.flag));
-            label.setFont(FONT_BODY);
-            label.setForeground(TEXT_PRIMARY);
-            label.setPreferredSize(new Dimension(140, 28));
-            label.setToolTipText(opt.description);
-            row.add(label, BorderLayout.WEST);
-
-            String savedText = savedConfig.getProperty("opt." + opt.flag);
-            String initial;
-            if (savedText != null) {
-               initial = savedText;
-            } else {
-               initial = opt.defaultValue != null ? opt.defaultValue : "";
-               if (opt.flag.equals("--limit-to-frames") && initial.isEmpty()) {
-                  initial = "5";
+               @Override
+               public void removeUpdate(DocumentEvent e) {
+                  changedUpdate(e);
+               }
+
+               @Override
+               public void changedUpdate(DocumentEvent e) {
+                  if (table.isEditing()) {
+                     table.getCellEditor().stopCellEditing();
+                  }
+                  sorter.setRowFilter(model.filter(filterField.getText()));
                }
             }
-            JTextField field = createStyledTextField(initial);
-            field.setToolTipText(opt.description);
-            textFields.put(opt, field);
-            row.add(field, BorderLayout.CENTER);
+         );
+      // Enter in the filter moves on to the table instead of reaching the panel's launch binding
+      filterField.addActionListener(e -> table.requestFocusInWindow());
+      controls.add(createLabeledRow("Filter", filterField));
 
-            optionsContainer.add(row);
-            optionsContainer.add(Box.createVerticalStrut(6));
-         }
-      }
+      header.add(controls);
 
-      JScrollPane scrollPane = new JScrollPane(optionsContainer);
+      JScrollPane scrollPane = new JScrollPane(table);
       scrollPane.setOpaque(false);
       scrollPane.getViewport().setOpaque(false);
       scrollPane.setBorder(BorderFactory.createEmptyBorder());
@@ -472,39 +605,15 @@ public class DebuggerPicker extends JFrame {
       buttons.add(sep);
       buttons.add(Box.createVerticalStrut(12));
 
-      final JComboBox<String> finalPlatformCombo = platformCombo;
-
-      JPanel launchBtn = createActionButton("Launch GPU Trace Profiler", ACCENT_ORANGE, () -> {
-         List<String> extraArgs = new ArrayList<>();
-         for (var entry : checkBoxes.entrySet()) {
-             NgfxOption opt = entry.getKey();
-             boolean selected = entry.getValue().isSelected();
-             if (opt.booleanArg && selected) {
-                extraArgs.add(opt.flag);
-                extraArgs.add("1");
-             } else if (!opt.booleanArg && selected) {
-                extraArgs.add(opt.flag);
-             }
-          }
-         for (var entry : comboBoxes.entrySet()) {
-            String val = (String) entry.getValue().getSelectedItem();
-            if (val != null && !val.isEmpty()) {
-               extraArgs.add(entry.getKey().flag);
-               extraArgs.add(val);
-            }
-         }
-         for (var entry : textFields.entrySet()) {
-            String val = entry.getValue().getText().strip();
-            if (!val.isEmpty()) {
-               extraArgs.add(entry.getKey().flag);
-               extraArgs.add(val);
-            }
+      Runnable launch = () -> {
+         if (table.isEditing()) {
+            table.getCellEditor().stopCellEditing();
          }
+         // Rows hidden by the filter still count, the filter only narrows what is shown
+         List<String> extraArgs = model.extraArgs();
 
-         String platform = null;
-         if (finalPlatformCombo != null) {
-            platform = (String) finalPlatformCombo.getSelectedItem();
-         } else if (platforms.size() == 1) {
+         String platform = (String) platformCombo.getSelectedItem();
+         if (platform == null && platforms.size() == 1) {
             platform = platforms.get(0);
          }
 
@@ -513,39 +622,132 @@ public class DebuggerPicker extends JFrame {
          if (platform != null) {
             config.setProperty("platform", platform);
          }
-         for (var entry : checkBoxes.entrySet()) {
-            config.setProperty("opt." + entry.getKey().flag, String.valueOf(entry.getValue().isSelected()));
-         }
-         for (var entry : comboBoxes.entrySet()) {
-            String val = (String) entry.getValue().getSelectedItem();
-            if (val != null) {
-               config.setProperty("opt." + entry.getKey().flag, val);
-            }
-         }
-         for (var entry : textFields.entrySet()) {
-            config.setProperty("opt." + entry.getKey().flag, entry.getValue().getText().strip());
-         }
+         model.saveTo(config);
          saveConfig(config);
 
          request = new DebuggerLaunchRequest(DebuggerSelection.GPU_TRACE, platform, extraArgs);
          dispose();
-      });
+      };
+      JPanel launchBtn = createActionButton("Launch GPU Trace Profiler", ACCENT_ORANGE, launch);
       buttons.add(launchBtn);
       buttons.add(Box.createVerticalStrut(8));
 
-      JPanel backBtn = createActionButton("Back", TEXT_SECONDARY, () -> {
-         cardLayout.show(cardPanel, "selection");
-         setResizable(false);
-         setSize(selectionSize);
-      });
+      JPanel backBtn = createActionButton("Back", TEXT_SECONDARY, this::showSelection);
       buttons.add(backBtn);
 
       panel.add(buttons, BorderLayout.SOUTH);
+      // A focused table cell, combo box or popup handles these keys itself first
+      bindKey(panel, "ENTER", launch);
+      bindKey(panel, "ESCAPE", this::showSelection);
       return panel;
    }
 
+   private static JPanel createLabeledRow(String text, JComponent field) {
+      JPanel row = new JPanel(new BorderLayout(8, 0));
+      row.setOpaque(false);
+      row.setMaximumSize(new Dimension(Integer.MAX_VALUE, 36));
+      row.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+      JLabel label = new JLabel(text);
+      label.setFont(FONT_BODY);
+      label.setForeground(TEXT_PRIMARY);
+      label.setPreferredSize(new Dimension(140, 28));
+      row.add(label, BorderLayout.WEST);
+      row.add(field, BorderLayout.CENTER);
+      return row;
+   }
+
+   /**
+    * The options as a table: one styled checkbox, combo box and text field each for painting every visible value
+    * cell, and one more of each for editing, so only the rows on screen cost anything however many options ngfx has.
+    */
+   static JTable createOptionsTable(GpuTraceOptionsModel model) {
+      DefaultTableCellRenderer labelRenderer = new DefaultTableCellRenderer() {
+         @Override
+         public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
+            super.getTableCellRendererComponent(table, value, false, false, row, column);
+            setToolTipText(model.option(table.convertRowIndexToModel(row)).description);
+            return this;
+         }
+      };
+      labelRenderer.setOpaque(false);
+      labelRenderer.setFont(FONT_BODY);
+      labelRenderer.setForeground(TEXT_PRIMARY);
+      labelRenderer.setBorder(BorderFactory.createEmptyBorder());
+
+      JCheckBox checkRenderer = createStyledCheckBox(null);
+      JComboBox<String> choiceRenderer = createStyledComboBox(new String[0]);
+      JTextField textRenderer = createStyledTextField("");
+      TableCellRenderer valueRenderer = (table, value, isSelected, hasFocus, row, column) -> {
+         JComponent component;
+         switch (model.kind(table.convertRowIndexToModel(row))) {
+            case CHECK:
+               checkRenderer.setSelected((Boolean) value);
+               component = checkRenderer;
+               break;
+            case CHOICE:
+               choiceRenderer.setModel(new DefaultComboBoxModel<>(new String[] { (String) value }));
+               component = choiceRenderer;
+               break;
+            default:
+               textRenderer.setText((String) value);
+               component = textRenderer;
+               break;
+         }
+         component.setToolTipText(model.option(table.convertRowIndexToModel(row)).description);
+         return component;
+      };
+
+      JComboBox<String> choiceEditorCombo = createStyledComboBox(new String[0]);
+      TableCellEditor checkEditor = new DefaultCellEditor(createStyledCheckBox(null));
+      TableCellEditor textEditor = new DefaultCellEditor(createStyledTextField(""));
+      ((DefaultCellEditor) textEditor).setClickCountToStart(1);
+      TableCellEditor choiceEditor = new DefaultCellEditor(choiceEditorCombo) {
+         @Override
+         public Component getTableCellEditorComponent(JTable table, Object value, boolean isSelected, int row, int column) {
+            // One combo box for every row, given the row's choices as it starts editing
+            choiceEditorCombo.setModel(new DefaultComboBoxModel<>(model.option(table.convertRowIndexToModel(row)).choices.toArray(new String[0])));
+            return super.getTableCellEditorComponent(table, value, isSelected, row, column);
+         }
+      };
+
+      JTable table = new JTable(model) {
+         @Override
+         public TableCellRenderer getCellRenderer(int row, int column) {
+            return column == GpuTraceOptionsModel.LABEL_COLUMN ? labelRenderer : valueRenderer;
+         }
+
+         @Override
+         public TableCellEditor getCellEditor(int row, int column) {
+            switch (model.kind(convertRowIndexToModel(row))) {
+               case CHECK:
+                  return checkEditor;
+               case CHOICE:
+                  return choiceEditor;
+               default:
+                  return textEditor;
+            }
+         }
+      };
+      table.setOpaque(false);
+      table.setTableHeader(null);
+      table.setShowGrid(false);
+      table.setIntercellSpacing(new Dimension(8, 6));
+      table.setRowHeight(34);
+      table.setFillsViewportHeight(true);
+      table.setRowSelectionAllowed(false);
+      table.setFocusable(true);
+      table.setSurrendersFocusOnKeystroke(true);
+      table.putClientProperty("terminateEditOnFocusLost", Boolean.TRUE);
+      TableColumn labelColumn = table.getColumnModel().getColumn(GpuTraceOptionsModel.LABEL_COLUMN);
+      labelColumn.setMinWidth(140);
+      labelColumn.setPreferredWidth(140);
+      labelColumn.setMaxWidth(140);
+      return table;
+   }
+
    private void selectDebugger(DebuggerSelection selection) {
-      if (selection == DebuggerSelection.GPU_TRACE && ngfxHelp != null && (!ngfxHelp.gpuTraceOptions.isEmpty() || ngfxHelp.platforms.size() > 1)) {
+      if (selection == DebuggerSelection.GPU_TRACE && (helpPending || (ngfxHelp != null && (!ngfxHelp.gpuTraceOptions.isEmpty() || ngfxHelp.platforms.size() > 1)))) {
          cardLayout.show(cardPanel, "gpu-trace-options");
          setResizable(true);
          pack();
@@ -563,6 +765,11 @@ public class DebuggerPicker extends JFrame {
       }
    }
 
+   private void saveConfig(Properties config) {
+      // Hand-edited settings such as autoLaunch are merged back in by the save itself
+      PickerConfig.save(config);
+   }
+
    private JPanel createDebuggerCard(String name, String description, Color accent, DebuggerSelection value, Icon icon) {
       JPanel card = new JPanel(new BorderLayout(12, 0)) {
          private boolean hovered = false;
@@ -712,7 +919,7 @@ public class DebuggerPicker extends JFrame {
       return btn;
    }
 
-   private JTextField createStyledTextField(String initialValue) {
+   private static JTextField createStyledTextField(String initialValue) {
       JTextField field = new JTextField(initialValue) {
          @Override
          protected void paintComponent(Graphics g) {
@@ -744,7 +951,7 @@ public class DebuggerPicker extends JFrame {
       return field;
    }
 
-   private JCheckBox createStyledCheckBox(String text) {
+   private static JCheckBox createStyledCheckBox(String text) {
       JCheckBox cb = new JCheckBox(text);
       cb.setOpaque(false);
       cb.setForeground(TEXT_PRIMARY);
@@ -778,7 +985,7 @@ public class DebuggerPicker extends JFrame {
       return cb;
    }
 
-   private JComboBox<String> createStyledComboBox(String[] items) {
+   private static JComboBox<String> createStyledComboBox(String[] items) {
       JComboBox<String> combo = new JComboBox<>(items);
       combo.setBackground(BG_INPUT);
       combo.setForeground(TEXT_PRIMARY);
@@ -862,57 +1069,30 @@ public class DebuggerPicker extends JFrame {
       return combo;
    }
 
-   private static String formatLabel(String flag) {
-      String name = flag.startsWith("--") ? flag.substring(2) : flag;
-      String[] parts = name.split("-");
-      StringBuilder sb = new StringBuilder();
-      for (String part : parts) {
-         if (sb.length() > 0) {
-            sb.append(' ');
-         }
-         if (!part.isEmpty()) {
-            sb.append(Character.toUpperCase(part.charAt(0)));
-            sb.append(part.substring(1));
-         }
-      }
-      return sb.toString();
-   }
-
-   private static Icon createImageIcon(String resourcePath) {
+   private Icon createIcon(String name) {
       return new Icon() {
-         private BufferedImage masked;
-
-         {
-            try {
-               BufferedImage raw = ImageIO.read(DebuggerPicker.class.getResourceAsStream(resourcePath));
-               masked = new BufferedImage(32, 32, BufferedImage.TYPE_INT_ARGB);
-               Graphics2D mg = masked.createGraphics();
-               mg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-               mg.setColor(Color.WHITE);
-               mg.fill(new RoundRectangle2D.Float(0, 0, 32, 32, 8, 8));
-               mg.setComposite(AlphaComposite.SrcIn);
-               mg.drawImage(raw, 0, 0, null);
-               mg.dispose();
-            } catch (Exception e) {
-               masked = null;
-            }
-         }
-
          @Override
          public void paintIcon(Component c, Graphics g, int x, int y) {
-            if (masked != null) {
-               g.drawImage(masked, x, y, null);
+            BufferedImage image = icons.get(name);
+            if (image != null) {
+               g.drawImage(image, x, y, null);
+            } else {
+               Graphics2D g2 = (Graphics2D) g.create();
+               g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+               g2.setColor(BG_HOVER);
+               g2.fill(new RoundRectangle2D.Float(x, y, PickerIcons.CARD_SIZE, PickerIcons.CARD_SIZE, 8, 8));
+               g2.dispose();
             }
          }
 
          @Override
          public int getIconWidth() {
-            return 32;
+            return PickerIcons.CARD_SIZE;
          }
 
          @Override
          public int getIconHeight() {
-            return 32;
+            return PickerIcons.CARD_SIZE;
          }
       };
    }
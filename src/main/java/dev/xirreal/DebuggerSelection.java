@@ -0,0 +1,14 @@
+package dev.xirreal;
+
+public enum DebuggerSelection {
+   GPU_TRACE("NSight GPU Trace Profiler"),
+   FRAME_DEBUGGER("NSight Frame Debugger"),
+   RENDERDOC("RenderDoc"),
+   NONE("None");
+
+   public final String displayName;
+
+   DebuggerSelection(String displayName) {
+      this.displayName = displayName;
+   }
+}
@@ -0,0 +1,155 @@
+package dev.xirreal;
+
+import static dev.xirreal.PlatformUtils.IS_LINUX;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+/**
+ * Persistent index of debugger locations, stored under the config dir.
+ *
+ * Each entry records the resolved path together with the modification times of every directory the locator
+ * would scan. As long as none of those directories changed, later launches reuse the stored result and only pay
+ * one stat per directory instead of the full probe chain.
+ */
+public final class DiscoveryCache {
+
+   private static final String FILE_NAME = "discovery.properties";
+   private static final String NGFX_KEY = "ngfx";
+   private static final String RENDERDOC_KEY = IS_LINUX ? "renderdoc.so" : "renderdoc.dll";
+   private static final long STAT_FAILED = -1L;
+   private static final long STAT_TIMED_OUT = -2L;
+
+   private static Properties index;
+
+   // Separate locks so both locators can run at the same time during preLaunch
+   private static final Object NGFX_LOCK = new Object();
+   private static final Object RENDERDOC_LOCK = new Object();
+
+   private static boolean ngfxResolved;
+   private static Path ngfxPath;
+   private static boolean renderdocResolved;
+   private static String renderdocPath;
+
+   private DiscoveryCache() {}
+
+   public static Path findNgfx() {
+      synchronized (NGFX_LOCK) {
+         if (!ngfxResolved) {
+            String found = lookup(NGFX_KEY, NgfxLocator.searchDirs(), () -> {
+               Path path = NgfxLocator.findNgfxExecutable();
+               return path != null ? path.toString() : null;
+            });
+            ngfxPath = found != null ? Paths.get(found) : null;
+            ngfxResolved = true;
+         }
+         return ngfxPath;
+      }
+   }
+
+   public static String findRenderdoc() {
+      synchronized (RENDERDOC_LOCK) {
+         if (!renderdocResolved) {
+            renderdocPath = lookup(RENDERDOC_KEY, RenderdocLocator.searchDirs(IS_LINUX), IS_LINUX ? RenderdocLocator::findRenderdocSo : RenderdocLocator::findRenderdocDll);
+            renderdocResolved = true;
+         }
+         return renderdocPath;
+      }
+   }
+
+   private static String lookup(String key, List<Path> dirs, Supplier<String> scan) {
+      Properties props = loadIndex();
+      String fingerprint = fingerprint(dirs);
+      String cached = props.getProperty(key + ".path");
+
+      if (fingerprint != null && fingerprint.equals(props.getProperty(key + ".fingerprint")) && cached != null) {
+         if (cached.isEmpty()) {
+            GfxDebuggers.LOGGER.debug("Discovery cache hit for {}: not installed", key);
+            return null;
+         }
+         if (ProbeEngine.all(List.of(Paths.get(cached)), Files::exists, false).get(0)) {
+            GfxDebuggers.LOGGER.debug("Discovery cache hit for {}: {}", key, cached);
+            return cached;
+         }
+      }
+
+      String found = scan.get();
+      if (fingerprint != null) {
+         record(key, found, fingerprint);
+      }
+      return found;
+   }
+
+   private static synchronized void record(String key, String found, String fingerprint) {
+      index.setProperty(key + ".path", found != null ? found : "");
+      index.setProperty(key + ".fingerprint", fingerprint);
+      saveIndex();
+   }
+
+   /**
+    * The mtimes of {@code dirs}, or null if any of them could not be stat'ed in time. A directory that timed out
+    * may have changed, so such a fingerprint must never match or be stored.
+    */
+   private static String fingerprint(List<Path> dirs) {
+      // Stats run through the probe engine so a dead mount in the list cannot stall the check itself
+      List<Long> mtimes = ProbeEngine.all(
+         dirs,
+         dir -> {
+            try {
+               return Files.getLastModifiedTime(dir).toMillis();
+            } catch (IOException | SecurityException e) {
+               return STAT_FAILED;
+            }
+         },
+         STAT_TIMED_OUT
+      );
+      if (mtimes.contains(STAT_TIMED_OUT)) {
+         GfxDebuggers.LOGGER.debug("Not using the discovery cache, a search directory did not answer in time");
+         return null;
+      }
+
+      StringBuilder sb = new StringBuilder();
+      for (int i = 0; i < dirs.size(); i++) {
+         if (sb.length() > 0) {
+            sb.append('|');
+         }
+         sb.append(dirs.get(i)).append('@').append(mtimes.get(i));
+      }
+      return sb.toString();
+   }
+
+   private static synchronized Properties loadIndex() {
+      if (index == null) {
+         index = new Properties();
+         try {
+            Path file = PlatformUtils.getDataDir().resolve(FILE_NAME);
+            if (Files.exists(file)) {
+               try (InputStream in = Files.newInputStream(file)) {
+                  index.load(in);
+               }
+            }
+         } catch (IOException | IllegalArgumentException e) {
+            GfxDebuggers.LOGGER.warn("Could not read discovery cache, rescanning: {}", e.getMessage());
+            index.clear();
+         }
+      }
+      return index;
+   }
+
+   private static void saveIndex() {
+      try {
+         ByteArrayOutputStream out = new ByteArrayOutputStream();
+         index.store(out, "gfx-debuggers discovery cache, safe to delete");
+         PlatformUtils.writeAtomically(PlatformUtils.getDataDir().resolve(FILE_NAME), out.toByteArray());
+      } catch (IOException e) {
+         GfxDebuggers.LOGGER.warn("Could not write discovery cache: {}", e.getMessage());
+      }
+   }
+}
@@ -0,0 +1,45 @@
+package dev.xirreal;
+
+import com.sun.jna.Native;
+import com.sun.jna.StringArray;
+import java.util.List;
+import java.util.Map;
+
+/** Replaces the process with {@code execve}, passing a freshly built {@code envp} instead of calling setenv. */
+final class ExecveBackend implements NativeBackend {
+
+   /** Loads JNA and libc, which is the expensive part, so it only happens once a relaunch is certain. */
+   static boolean available() {
+      try {
+         LinuxNative.LibC.INSTANCE.getClass();
+         return true;
+      } catch (LinkageError e) {
+         GfxDebuggers.LOGGER.warn("JNA is not available, relaunching as a child process instead: {}", e.toString());
+         return false;
+      }
+   }
+
+   @Override
+   public String name() {
+      return "jna-execve";
+   }
+
+   @Override
+   public boolean replaceProcess(String exe, List<String> args, Map<String, String> env) {
+      String[] argv = new String[args.size() + 1];
+      argv[0] = exe;
+      for (int i = 0; i < args.size(); i++) {
+         argv[i + 1] = args.get(i);
+      }
+      String[] envp = new String[env.size()];
+      int i = 0;
+      for (Map.Entry<String, String> variable : env.entrySet()) {
+         envp[i++] = variable.getKey() + "=" + variable.getValue();
+      }
+
+      LinuxNative.LibC.INSTANCE.execve(exe, new StringArray(argv), new StringArray(envp));
+
+      GfxDebuggers.LOGGER.error("execve failed with errno {}", Native.getLastError());
+      return false;
+   }
+}
@@ -1,21 +1,18 @@
 package dev.xirreal;
 
-import static dev.xirreal.DebuggerPicker.DebuggerSelection;
 import static dev.xirreal.PlatformUtils.*;
 
-import java.awt.*;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.lang.management.ManagementFactory;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
-import javax.swing.*;
-import net.fabricmc.loader.api.FabricLoader;
+import java.util.concurrent.CompletableFuture;
 import net.fabricmc.loader.api.entrypoint.PreLaunchEntrypoint;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,130 +27,239 @@ public class GfxDebuggers implements PreLaunchEntrypoint {
 
    @Override
    public void onPreLaunch() {
-      if (!IS_WINDOWS && !IS_LINUX) {
-         LOGGER.error("Unsupported OS: " + System.getProperty("os.name"));
-         return;
-      }
-      String arch = System.getProperty("os.arch").toLowerCase();
-      if (!arch.contains("64")) {
-         LOGGER.error("Unsupported architecture: " + arch);
-         return;
+      try (LaunchTrace.Phase phase = LaunchTrace.phase("environment-check")) {
+         String arch = System.getProperty("os.arch").toLowerCase();
+         phase.attr("os", System.getProperty("os.name")).attr("arch", arch);
+         if (!IS_WINDOWS && !IS_LINUX) {
+            LOGGER.error("Unsupported OS: " + System.getProperty("os.name"));
+            return;
+         }
+         if (!arch.contains("64")) {
+            LOGGER.error("Unsupported architecture: " + arch);
+            return;
+         }
       }
 
-      if (System.getenv(RENDERDOC_MARKER_ENV) != null) {
+      String renderdocMarker = System.getenv(RENDERDOC_MARKER_ENV);
+      String nsightMarker = System.getenv(NSIGHT_MARKER_ENV);
+      if (renderdocMarker != null) {
          LOGGER.info("Process relaunched with Renderdoc marker. Checking if library is loaded...");
          if (isLibraryLoaded("librenderdoc")) {
             LOGGER.info("Renderdoc library is loaded. Continuing with normal launch.");
+            LaunchHandshake.onChildPreLaunch("renderdoc", renderdocMarker);
+            LaunchScript.onChildPreLaunch(renderdocMarker);
          } else {
             LOGGER.error("Renderdoc marker environment variable is set but library is not loaded. Something went wrong with the injection.");
             throw new IllegalStateException("Renderdoc injection failed");
          }
          return;
-      } else if (System.getenv(NSIGHT_MARKER_ENV) != null) {
+      } else if (nsightMarker != null) {
          LOGGER.info("Process relaunched with NSight Graphics marker. Continuing with normal launch.");
+         LaunchHandshake.onChildPreLaunch("nsight", nsightMarker);
+         LaunchScript.onChildPreLaunch(nsightMarker);
          return;
       }
 
-      ProcessHandle processHandle = ProcessHandle.current();
-      String javaExecutable = processHandle.info().command().orElse("java");
-      List<String> jvmArgs = ManagementFactory.getRuntimeMXBean().getInputArguments();
-
-      List<String> fullArgs = new ArrayList<>();
-      fullArgs.addAll(jvmArgs);
-      if (System.getProperty("java.library.path") != null) {
-         fullArgs.add("-Djava.library.path=" + System.getProperty("java.library.path"));
+      LaunchTrace trace = LaunchTrace.current();
+      try {
+         launch(trace);
+      } catch (RuntimeException | Error e) {
+         trace.outcome("failed");
+         throw e;
+      } finally {
+         trace.finish();
       }
-      fullArgs.add("-cp");
-      fullArgs.add(System.getProperty("java.class.path"));
-
-      // Bypass launcher shims and launch fabric directly as god intended
-      fullArgs.add("net.fabricmc.loader.impl.launch.knot.KnotClient");
-
-      String[] args = FabricLoader.getInstance().getLaunchArguments(false);
-      fullArgs.addAll(Arrays.asList(args));
-
-      boolean renderdocAvailable = IS_LINUX ? RenderdocLocator.findRenderdocSo() != null : RenderdocLocator.findRenderdocDll() != null;
-      Path ngfxPath = NgfxLocator.findNgfxExecutable();
-      boolean ngfxAvailable = ngfxPath != null;
+   }
 
-      if (!renderdocAvailable && !ngfxAvailable) {
-         LOGGER.warn("No graphics debuggers found. Skipping injection.");
+   private void launch(LaunchTrace trace) {
+      String optionString = System.getProperty("debugger");
+      if (optionString != null && (optionString.equalsIgnoreCase("skip") || optionString.equalsIgnoreCase("none"))) {
+         LOGGER.info("Debugger injection skipped via -Ddebugger=skip");
+         trace.outcome("skipped");
          return;
       }
 
-      NgfxHelpInfo ngfxHelp = null;
-      if (ngfxAvailable) {
-         ngfxHelp = NgfxHelpParser.parse(ngfxPath);
-      }
+      // Only an interactive launch is expected to need the picker and the GPU Trace options up front
+      boolean pickerExpected = optionString == null;
+      boolean helpExpected = pickerExpected || optionString.equalsIgnoreCase("nsight-gpu");
 
-      DebuggerLaunchRequest request = null;
+      boolean consolePicker = pickerExpected && ConsolePicker.preferred();
 
-      String optionString = System.getProperty("debugger");
-      if (optionString != null) {
-         if (optionString.equalsIgnoreCase("skip") || optionString.equalsIgnoreCase("none")) {
-            LOGGER.info("Debugger injection skipped via -Ddebugger=skip");
+      StagePipeline pipeline = new StagePipeline();
+      String[] originalAwtProperties = pickerExpected && !consolePicker ? InteractivePicker.applyAwtProperties() : null;
+
+      DebuggerLaunchRequest request = null;
+      List<String> fullArgs;
+      NgfxHelpHandle ngfxHelp;
+      try {
+         if (pickerExpected && !consolePicker) {
+            pipeline.stage("awt-warmup", InteractivePicker::warmUp);
+         }
+         StagePipeline.Stage<List<String>> argv = pipeline.stage("relaunch-argv", GfxDebuggers::buildRelaunchArgs);
+         StagePipeline.Stage<Boolean> renderdoc = pipeline.stage("renderdoc-discovery", () -> {
+            String path = DiscoveryCache.findRenderdoc();
+            LaunchTrace.attr("path", path);
+            return path != null;
+         });
+         StagePipeline.Stage<NgfxHelpHandle> ngfx = pipeline.stage("ngfx-discovery", () -> {
+            Path path = DiscoveryCache.findNgfx();
+            LaunchTrace.attr("path", path);
+            // Only parsed once something needs the options, so renderdoc and nsight-frame never wait on ngfx
+            return path != null ? new NgfxHelpHandle(path) : null;
+         });
+         StagePipeline.Stage<NgfxHelpInfo> help = helpExpected ? helpStage(pipeline, ngfx) : null;
+
+         boolean renderdocAvailable = renderdoc.join();
+         ngfxHelp = ngfx.join();
+         boolean ngfxAvailable = ngfxHelp != null;
+
+         if (!renderdocAvailable && !ngfxAvailable) {
+            LOGGER.warn("No graphics debuggers found. Skipping injection.");
+            pipeline.logTimings();
+            trace.outcome("no-debugger");
             return;
-         } else if (optionString.equalsIgnoreCase("last")) {
-            request = buildRequestFromLastConfig(renderdocAvailable, ngfxAvailable, ngfxHelp);
-            if (request == null) {
-               LOGGER.warn("No saved debugger config found. Falling back to picker dialog.");
-            }
-         } else if (optionString.equalsIgnoreCase("renderdoc") && renderdocAvailable) {
-            request = new DebuggerLaunchRequest(DebuggerSelection.RENDERDOC);
-         } else if (optionString.equalsIgnoreCase("nsight-gpu") && ngfxAvailable) {
-            String platform = ngfxHelp != null && ngfxHelp.platforms.size() == 1 ? ngfxHelp.platforms.get(0) : null;
-            request = new DebuggerLaunchRequest(DebuggerSelection.GPU_TRACE, platform, List.of());
-         } else if (optionString.equalsIgnoreCase("nsight-frame") && ngfxAvailable) {
-            String platform = ngfxHelp != null && ngfxHelp.platforms.size() == 1 ? ngfxHelp.platforms.get(0) : null;
-            request = new DebuggerLaunchRequest(DebuggerSelection.FRAME_DEBUGGER, platform, List.of());
          }
-      }
 
-      if (request == null) {
-         String originalHeadless = System.getProperty("java.awt.headless");
-         String originalAA = System.getProperty("awt.useSystemAAFontSettings");
-         String originalAAText = System.getProperty("swing.aatext");
+         if (optionString != null) {
+            if (optionString.equalsIgnoreCase("last")) {
+               request = buildRequestFromLastConfig(renderdocAvailable, ngfxAvailable);
+               if (request == null) {
+                  LOGGER.warn("No saved debugger config found. Falling back to picker dialog.");
+               }
+            } else if (optionString.regionMatches(true, 0, ProfileStore.PREFIX, 0, ProfileStore.PREFIX.length())) {
+               request = buildRequestFromProfile(optionString.substring(ProfileStore.PREFIX.length()), renderdocAvailable, ngfxAvailable);
+               if (request == null) {
+                  LOGGER.warn("Falling back to picker dialog.");
+               }
+            } else if (optionString.equalsIgnoreCase("renderdoc") && renderdocAvailable) {
+               request = new DebuggerLaunchRequest(DebuggerSelection.RENDERDOC);
+            } else if (optionString.equalsIgnoreCase("nsight-gpu") && ngfxAvailable) {
+               request = new DebuggerLaunchRequest(DebuggerSelection.GPU_TRACE, singlePlatform(ngfxHelp.get()), List.of());
+            } else if (optionString.equalsIgnoreCase("nsight-frame") && ngfxAvailable) {
+               // Without known help, leaving the platform unset lets ngfx pick its default
+               String platform = singlePlatform(ngfxHelp.peek());
+               if (platform == null) {
+                  LOGGER.debug("No cached ngfx help with a single platform, leaving --platform for ngfx to choose");
+               }
+               request = new DebuggerLaunchRequest(DebuggerSelection.FRAME_DEBUGGER, platform, List.of());
+            }
+         }
 
-         try {
-            System.setProperty("java.awt.headless", "false");
-            System.setProperty("awt.useSystemAAFontSettings", "on");
-            System.setProperty("swing.aatext", "true");
-
-            DebuggerPicker picker = new DebuggerPicker(renderdocAvailable, ngfxAvailable, ngfxHelp);
-            request = picker.getRequest();
-         } catch (Exception e) {
-            LOGGER.error("Could not open Swing window. Falling back to command line selection.", e);
-         } finally {
-            if (originalHeadless != null) {
-               System.setProperty("java.awt.headless", originalHeadless);
-            } else {
-               System.clearProperty("java.awt.headless");
+         if (request == null) {
+            if (!pickerExpected) {
+               consolePicker = ConsolePicker.preferred();
+            }
+            if (originalAwtProperties == null && !consolePicker) {
+               originalAwtProperties = InteractivePicker.applyAwtProperties();
             }
-            if (originalAA != null) {
-               System.setProperty("awt.useSystemAAFontSettings", originalAA);
-            } else {
-               System.clearProperty("awt.useSystemAAFontSettings");
+            if (help == null && ngfxAvailable) {
+               help = helpStage(pipeline, ngfx);
             }
-            if (originalAAText != null) {
-               System.setProperty("swing.aatext", originalAAText);
-            } else {
-               System.clearProperty("swing.aatext");
+            CompletableFuture<NgfxHelpInfo> helpFuture = help != null ? help.future : CompletableFuture.completedFuture(null);
+
+            try (LaunchTrace.Phase phase = LaunchTrace.phase("picker")) {
+               if (!consolePicker) {
+                  try {
+                     // Opens as soon as discovery is done; the GPU Trace options fill in once the help stage completes
+                     request = InteractivePicker.show(
+                        renderdocAvailable,
+                        ngfxAvailable,
+                        helpFuture,
+                        () -> pipeline.mark("picker visible"),
+                        () -> pipeline.mark("picker painted")
+                     );
+                  } catch (Exception e) {
+                     // Includes HeadlessException, which show() also throws when the toolkit fails with an error
+                     LOGGER.error("Could not open Swing window. Falling back to console selection.", e);
+                     consolePicker = true;
+                  }
+               }
+               if (consolePicker) {
+                  request = ConsolePicker.pick(renderdocAvailable, ngfxAvailable, helpFuture);
+               }
+               phase.attr("mode", consolePicker ? "console" : "window").attr("selection", request != null ? request.selection : null);
             }
          }
+
+         fullArgs = argv.join();
+      } finally {
+         if (originalAwtProperties != null) {
+            InteractivePicker.restoreAwtProperties(originalAwtProperties);
+         }
       }
 
+      pipeline.mark("request ready");
+      pipeline.logTimings();
+
       if (request == null || request.selection == DebuggerSelection.NONE) {
          LOGGER.warn("Injection skipped! No debugger will be injected and the game will launch normally.");
+         trace.outcome("skipped");
          return;
-      } else if (request.selection == DebuggerSelection.RENDERDOC) {
-         launchRenderdoc(javaExecutable, fullArgs);
+      }
+      trace.outcome(request.selection.name().toLowerCase());
+
+      String saveProfile = System.getProperty("debugger.saveProfile");
+      if (saveProfile != null) {
+         try {
+            // Only GPU Trace launches carry options, and telling their flags from their values needs ngfx's help
+            NgfxHelpInfo help = request.extraArgs.isEmpty() || ngfxHelp == null ? null : ngfxHelp.get();
+            ProfileStore.save(saveProfile, ProfileStore.toSettings(request, help != null ? help.gpuTraceOptions : List.of()));
+            LOGGER.info("Saved this launch as profile '{}', launch it again with -Ddebugger={}{}", saveProfile, ProfileStore.PREFIX, saveProfile);
+         } catch (IOException | IllegalArgumentException e) {
+            LOGGER.warn("Could not save profile '{}': {}", saveProfile, e.getMessage());
+         }
+      }
+
+      String javaExecutable = ProcessHandle.current().info().command().orElse("java");
+      boolean writeScript = LaunchScript.wanted(optionString);
+      if (request.selection == DebuggerSelection.RENDERDOC) {
+         launchRenderdoc(javaExecutable, fullArgs, writeScript);
       } else {
-         launchViaNgfx(javaExecutable, fullArgs, request, ngfxHelp);
+         launchViaNgfx(javaExecutable, fullArgs, request, ngfxHelp, writeScript);
       }
    }
 
-   private static DebuggerLaunchRequest buildRequestFromLastConfig(boolean renderdocAvailable, boolean ngfxAvailable, NgfxHelpInfo ngfxHelp) {
-      Properties config = DebuggerPicker.loadConfig();
+   private static List<String> buildRelaunchArgs() {
+      List<String> fullArgs = RelaunchCommandLine.build();
+      LaunchTrace.attr("args", fullArgs.size());
+      return fullArgs;
+   }
+
+   private static StagePipeline.Stage<NgfxHelpInfo> helpStage(StagePipeline pipeline, StagePipeline.Stage<NgfxHelpHandle> ngfx) {
+      return pipeline.stage(
+         "ngfx-help",
+         () -> {
+            NgfxHelpHandle handle = ngfx.join();
+            return handle != null ? handle.get() : null;
+         },
+         ngfx
+      );
+   }
+
+   private static String singlePlatform(NgfxHelpInfo ngfxHelp) {
+      return ngfxHelp != null && ngfxHelp.platforms.size() == 1 ? ngfxHelp.platforms.get(0) : null;
+   }
+
+   private static DebuggerLaunchRequest buildRequestFromLastConfig(boolean renderdocAvailable, boolean ngfxAvailable) {
+      return buildRequestFromConfig(PickerConfig.load(), renderdocAvailable, ngfxAvailable);
+   }
+
+   private static DebuggerLaunchRequest buildRequestFromProfile(String name, boolean renderdocAvailable, boolean ngfxAvailable) {
+      try {
+         Properties profile = ProfileStore.isValidName(name) ? ProfileStore.load(name) : null;
+         if (profile == null) {
+            LOGGER.warn("No launch profile named '{}'. Known profiles: {}", name, ProfileStore.names());
+            return null;
+         }
+         LOGGER.info("Using launch profile '{}'", name);
+         return buildRequestFromConfig(profile, renderdocAvailable, ngfxAvailable);
+      } catch (IOException e) {
+         LOGGER.warn("Could not read launch profiles: {}", e.toString());
+         return null;
+      }
+   }
+
+   static DebuggerLaunchRequest buildRequestFromConfig(Properties config, boolean renderdocAvailable, boolean ngfxAvailable) {
       String debuggerName = config.getProperty("debugger");
       if (debuggerName == null) {
          return null;
@@ -198,11 +304,11 @@ public class GfxDebuggers implements PreLaunchEntrypoint {
       return new DebuggerLaunchRequest(selection, platform, extraArgs);
    }
 
-   private void launchRenderdoc(String javaExecutable, List<String> args) {
+   private void launchRenderdoc(String javaExecutable, List<String> args, boolean writeScript) {
       LOGGER.info("Injecting Renderdoc...");
       try {
          if (IS_LINUX) {
-            String renderdocPath = RenderdocLocator.findRenderdocSo();
+            String renderdocPath = DiscoveryCache.findRenderdoc();
             if (renderdocPath == null) {
                LOGGER.error("Renderdoc library not found. Checked standard system paths.");
                LOGGER.error("Set -Drenderdoc.path=<path> or RENDERDOC_PATH env var to your RenderDoc install directory or librenderdoc.so path.");
@@ -215,20 +321,43 @@ public class GfxDebuggers implements PreLaunchEntrypoint {
                return;
             }
 
-            if (!relaunchWithExtraLD_PRELOAD(javaExecutable, args, renderdocPath, RENDERDOC_MARKER_ENV)) {
+            if (Boolean.getBoolean("debugger.renderdoc.inProcess")) {
+               boolean loaded;
+               try (LaunchTrace.Phase phase = LaunchTrace.phase("renderdoc-load")) {
+                  phase.attr("path", renderdocPath).attr("mode", "dlopen");
+                  // preLaunch runs before LWJGL loads libGL, so RenderDoc can still hook it from here
+                  loaded = LinuxNative.loadRenderdoc(renderdocPath);
+                  if (!loaded) {
+                     phase.fail("hooking not confirmed");
+                  }
+               }
+               if (loaded) {
+                  LOGGER.info("Renderdoc loaded in-process, no re-exec needed.");
+                  return;
+               }
+               LOGGER.warn("Could not confirm in-process Renderdoc loading, falling back to re-exec with LD_PRELOAD.");
+            }
+
+            if (writeScript) {
+               writeRenderdocScript(javaExecutable, args, renderdocPath);
+            }
+            if (!relaunchWithExtraLD_PRELOAD(javaExecutable, args, renderdocPath, RENDERDOC_MARKER_ENV, "renderdoc")) {
                LOGGER.error("Re-exec with LD_PRELOAD failed.");
                LOGGER.error("Try launching the game manually with this environment variable set: LD_PRELOAD={}", renderdocPath);
                throw new IllegalStateException("Failed to relaunch with Renderdoc");
             }
          } else {
-            String renderdocDll = RenderdocLocator.findRenderdocDll();
+            String renderdocDll = DiscoveryCache.findRenderdoc();
             if (renderdocDll == null) {
                LOGGER.error("Renderdoc installation not found in common paths.");
                LOGGER.error("Set -Drenderdoc.path=<path> or RENDERDOC_PATH env var to your RenderDoc install directory.");
                throw new IllegalStateException("Renderdoc DLL not found");
             }
             LOGGER.info("Found Renderdoc shared library at: {}", renderdocDll);
-            System.load(renderdocDll);
+            try (LaunchTrace.Phase phase = LaunchTrace.phase("renderdoc-load")) {
+               phase.attr("path", renderdocDll);
+               System.load(renderdocDll);
+            }
             LOGGER.info("Renderdoc loaded successfully.");
          }
       } catch (Exception e) {
@@ -237,11 +366,24 @@ public class GfxDebuggers implements PreLaunchEntrypoint {
       }
    }
 
-   private void launchViaNgfx(String exe, List<String> args, DebuggerLaunchRequest request, NgfxHelpInfo ngfxHelp) {
+   private static void writeRenderdocScript(String javaExecutable, List<String> args, String renderdocPath) {
+      String name = LaunchScript.name(DebuggerSelection.RENDERDOC);
+      Map<String, String> env = new LinkedHashMap<>();
+      env.put("LD_PRELOAD", renderdocPath);
+      env.put(RENDERDOC_MARKER_ENV, LaunchScript.marker(name));
+      try {
+         List<String> command = List.of(javaExecutable, "@" + LaunchScript.argFile(name));
+         LaunchScript.update(name, env, command, System.getProperty("user.dir"), RelaunchCommandLine.expandArgFiles(args));
+      } catch (IOException e) {
+         LOGGER.warn("Could not write launch script: {}", e.getMessage());
+      }
+   }
+
+   private void launchViaNgfx(String exe, List<String> args, DebuggerLaunchRequest request, NgfxHelpHandle ngfxHelpHandle, boolean writeScript) {
       DebuggerSelection activity = request.selection;
       LOGGER.info("Launching game via ngfx CLI for {}...", activity.name());
 
-      Path ngfx = NgfxLocator.findNgfxExecutable();
+      Path ngfx = DiscoveryCache.findNgfx();
       if (ngfx == null) {
          LOGGER.error("NSight Graphics ngfx executable not found.");
          if (IS_LINUX) {
@@ -256,6 +398,8 @@ public class GfxDebuggers implements PreLaunchEntrypoint {
 
       String workDir = System.getProperty("user.dir");
 
+      // The activity names are stable across NSight versions, so only use help that is already known
+      NgfxHelpInfo ngfxHelp = ngfxHelpHandle != null ? ngfxHelpHandle.peek() : null;
       String activityName;
       if (activity == DebuggerSelection.GPU_TRACE) {
          activityName = ngfxHelp != null ? ngfxHelp.findActivity("GPU Trace") : null;
@@ -274,36 +418,50 @@ public class GfxDebuggers implements PreLaunchEntrypoint {
       cmd.add("--exe=" + exe);
 
       Path argFile = null;
-      try {
-         argFile = writeArgFile(args);
+      try (LaunchTrace.Phase phase = LaunchTrace.phase("argfile-write")) {
+         argFile = writeArgFile(RelaunchCommandLine.expandArgFiles(args));
          cmd.add("--args=@" + argFile.toAbsolutePath());
+         phase.attr("args", args.size()).attr("bytes", Files.size(argFile));
       } catch (Exception e) {
          LOGGER.error("Failed to create argfile for ngfx: ", e);
          throw new IllegalStateException("Failed to create argfile for ngfx", e);
       }
 
       cmd.add("--dir=" + workDir);
-      cmd.add("--env=" + NSIGHT_MARKER_ENV + "=1");
+      String marker = LaunchHandshake.marker();
+      cmd.add("--env=" + NSIGHT_MARKER_ENV + "=" + marker);
       cmd.add("--launch-detached");
       cmd.addAll(request.extraArgs);
 
+      if (writeScript) {
+         writeNgfxScript(cmd, argFile, workDir, args, request.selection);
+      }
+
       LOGGER.info("Running ngfx with command: {}", String.join(" ", cmd));
 
       try {
-         ProcessBuilder pb = new ProcessBuilder(cmd);
-         pb.redirectErrorStream(true);
-         Process process = pb.start();
-
-         try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-               if (!line.trim().isEmpty()) {
-                  LOGGER.info("{}", line);
+         int exitCode;
+         try (LaunchTrace.Phase phase = LaunchTrace.phase("ngfx-run")) {
+            phase.attr("activity", activityName).attr("platform", request.platform);
+            ProcessBuilder pb = new ProcessBuilder(cmd);
+            pb.redirectErrorStream(true);
+            Process process = pb.start();
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+               String line;
+               while ((line = reader.readLine()) != null) {
+                  if (!line.trim().isEmpty()) {
+                     LOGGER.info("{}", line);
+                  }
                }
             }
-         }
 
-         int exitCode = process.waitFor();
+            exitCode = process.waitFor();
+            phase.attr("exitCode", exitCode);
+            if (exitCode != 0) {
+               phase.fail("ngfx exited with code " + exitCode);
+            }
+         }
 
          if (exitCode != 0) {
             LOGGER.error("ngfx exited with code {}. Check that NSight Graphics is installed correctly.", exitCode);
@@ -311,6 +469,9 @@ public class GfxDebuggers implements PreLaunchEntrypoint {
          }
 
          LOGGER.info("Game re-launched via ngfx (exit code 0). Terminating current process.");
+         LaunchHandshake.handoff("nsight", marker);
+         // System.exit skips the finally in onPreLaunch
+         LaunchTrace.current().finish();
          System.exit(0);
       } catch (IOException e) {
          LOGGER.error("Failed to run ngfx: ", e);
@@ -332,4 +493,23 @@ public class GfxDebuggers implements PreLaunchEntrypoint {
          }
       }
    }
+
+   private static void writeNgfxScript(List<String> cmd, Path argFile, String workDir, List<String> args, DebuggerSelection selection) {
+      String name = LaunchScript.name(selection);
+      try {
+         // Same ngfx invocation, pointed at the persistent argfile and carrying the script marker instead of a handoff
+         List<String> command = new ArrayList<>(cmd.size());
+         for (String part : cmd) {
+            if (part.equals("--args=@" + argFile.toAbsolutePath())) {
+               part = "--args=@" + LaunchScript.argFile(name);
+            } else if (part.startsWith("--env=" + NSIGHT_MARKER_ENV + "=")) {
+               part = "--env=" + NSIGHT_MARKER_ENV + "=" + LaunchScript.marker(name);
+            }
+            command.add(part);
+         }
+         LaunchScript.update(name, Map.of(), command, workDir, RelaunchCommandLine.expandArgFiles(args));
+      } catch (IOException e) {
+         LOGGER.warn("Could not write launch script: {}", e.getMessage());
+      }
+   }
 }
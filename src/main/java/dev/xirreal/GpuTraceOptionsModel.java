@@ -0,0 +1,188 @@
+package dev.xirreal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import javax.swing.RowFilter;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * The GPU Trace options as table rows: a label column and a value column, the value being a {@link Boolean} for
+ * switches and a {@link String} otherwise. Rows start from the saved config the same way the old one-component-per-
+ * option panel did, so the launch arguments and the saved config come out unchanged.
+ */
+final class GpuTraceOptionsModel extends AbstractTableModel {
+
+   private static final long serialVersionUID = 1L;
+
+   enum Kind {
+      CHECK,
+      CHOICE,
+      TEXT,
+   }
+
+   static final int LABEL_COLUMN = 0;
+   static final int VALUE_COLUMN = 1;
+
+   private final List<NgfxOption> options = new ArrayList<>();
+   private final List<Object> values = new ArrayList<>();
+   // Lower-cased flag, label and description, so filtering does no per-keystroke allocation beyond the query
+   private final List<String> searchText = new ArrayList<>();
+   private final List<String> labels = new ArrayList<>();
+
+   GpuTraceOptionsModel(List<NgfxOption> all, Properties savedConfig) {
+      for (NgfxOption opt : all) {
+         if (opt.deprecated) {
+            continue;
+         }
+         String saved = savedConfig.getProperty("opt." + opt.flag);
+         Object value;
+         switch (kind(opt)) {
+            case CHECK:
+               if (saved != null) {
+                  value = "true".equals(saved);
+               } else if (opt.booleanArg) {
+                  value = "1".equals(opt.defaultValue);
+               } else {
+                  value = opt.flag.equals("--start-after-hotkey");
+               }
+               break;
+            case CHOICE:
+               if (saved != null && opt.choices.contains(saved)) {
+                  value = saved;
+               } else if (opt.defaultValue != null && opt.choices.contains(opt.defaultValue)) {
+                  value = opt.defaultValue;
+               } else {
+                  value = opt.choices.get(0);
+               }
+               break;
+            default:
+               if (saved != null) {
+                  value = saved;
+               } else {
+                  value = opt.defaultValue != null ? opt.defaultValue : "";
+                  if (opt.flag.equals("--limit-to-frames") && ((String) value).isEmpty()) {
+                     value = "5";
+                  }
+               }
+               break;
+         }
+         String label = formatLabel(opt.flag);
+         options.add(opt);
+         values.add(value);
+         labels.add(label);
+         searchText.add((opt.flag + "\n" + label + "\n" + (opt.description != null ? opt.description : "")).toLowerCase(Locale.ROOT));
+      }
+   }
+
+   static Kind kind(NgfxOption opt) {
+      if (!opt.takesValue || opt.booleanArg) {
+         return Kind.CHECK;
+      }
+      return opt.choices.isEmpty() ? Kind.TEXT : Kind.CHOICE;
+   }
+
+   NgfxOption option(int row) {
+      return options.get(row);
+   }
+
+   Kind kind(int row) {
+      return kind(options.get(row));
+   }
+
+   @Override
+   public int getRowCount() {
+      return options.size();
+   }
+
+   @Override
+   public int getColumnCount() {
+      return 2;
+   }
+
+   @Override
+   public String getColumnName(int column) {
+      return column == LABEL_COLUMN ? "Option" : "Value";
+   }
+
+   @Override
+   public Object getValueAt(int row, int column) {
+      return column == LABEL_COLUMN ? labels.get(row) : values.get(row);
+   }
+
+   @Override
+   public boolean isCellEditable(int row, int column) {
+      return column == VALUE_COLUMN;
+   }
+
+   @Override
+   public void setValueAt(Object value, int row, int column) {
+      if (column != VALUE_COLUMN || value == null) {
+         return;
+      }
+      values.set(row, kind(row) == Kind.CHECK ? (Object) Boolean.TRUE.equals(value) : value.toString());
+      fireTableCellUpdated(row, column);
+   }
+
+   /** Matches rows whose flag, label or description contain {@code query}, ignoring case. */
+   RowFilter<GpuTraceOptionsModel, Integer> filter(String query) {
+      String needle = query.strip().toLowerCase(Locale.ROOT);
+      if (needle.isEmpty()) {
+         return null;
+      }
+      return new RowFilter<>() {
+         @Override
+         public boolean include(Entry<? extends GpuTraceOptionsModel, ? extends Integer> entry) {
+            return searchText.get(entry.getIdentifier()).contains(needle);
+         }
+      };
+   }
+
+   /** The ngfx arguments for every row, filtered out or not. */
+   List<String> extraArgs() {
+      List<String> extraArgs = new ArrayList<>();
+      for (int row = 0; row < options.size(); row++) {
+         NgfxOption opt = options.get(row);
+         Object value = values.get(row);
+         if (kind(row) == Kind.CHECK) {
+            if ((Boolean) value) {
+               extraArgs.add(opt.flag);
+               if (opt.booleanArg) {
+                  extraArgs.add("1");
+               }
+            }
+         } else {
+            String val = ((String) value).strip();
+            if (!val.isEmpty()) {
+               extraArgs.add(opt.flag);
+               extraArgs.add(val);
+            }
+         }
+      }
+      return extraArgs;
+   }
+
+   void saveTo(Properties config) {
+      for (int row = 0; row < options.size(); row++) {
+         Object value = values.get(row);
+         config.setProperty("opt." + options.get(row).flag, value instanceof String ? ((String) value).strip() : value.toString());
+      }
+   }
+
+   static String formatLabel(String flag) {
+      String name = flag.startsWith("--") ? flag.substring(2) : flag;
+      String[] parts = name.split("-");
+      StringBuilder sb = new StringBuilder();
+      for (String part : parts) {
+         if (sb.length() > 0) {
+            sb.append(' ');
+         }
+         if (!part.isEmpty()) {
+            sb.append(Character.toUpperCase(part.charAt(0)));
+            sb.append(part.substring(1));
+         }
+      }
+      return sb.toString();
+   }
+}
@@ -0,0 +1,91 @@
+package dev.xirreal;
+
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.font.FontRenderContext;
+import java.util.concurrent.CompletableFuture;
+import javax.swing.*;
+
+/**
+ * Everything the interactive launch needs from AWT and Swing. {@link GfxDebuggers} only reaches these through
+ * static calls with plain types, so a launch with {@code -Ddebugger} set never loads a single desktop class.
+ */
+final class InteractivePicker {
+
+   // Set while the picker may be shown, restored afterwards
+   private static final String[] AWT_PROPERTIES = { "java.awt.headless", "awt.useSystemAAFontSettings", "swing.aatext" };
+   private static final String[] AWT_VALUES = { "false", "on", "true" };
+
+   private InteractivePicker() {}
+
+   /** Sets the properties the picker needs before AWT initializes, returning the previous values. */
+   static String[] applyAwtProperties() {
+      String[] originals = new String[AWT_PROPERTIES.length];
+      for (int i = 0; i < AWT_PROPERTIES.length; i++) {
+         originals[i] = System.getProperty(AWT_PROPERTIES[i]);
+         System.setProperty(AWT_PROPERTIES[i], AWT_VALUES[i]);
+      }
+      return originals;
+   }
+
+   static void restoreAwtProperties(String[] originals) {
+      for (int i = 0; i < AWT_PROPERTIES.length; i++) {
+         if (originals[i] != null) {
+            System.setProperty(AWT_PROPERTIES[i], originals[i]);
+         } else {
+            System.clearProperty(AWT_PROPERTIES[i]);
+         }
+      }
+   }
+
+   static Void warmUp() {
+      // Loads the toolkit, look and feel, the picker's font and its icons while discovery is still running
+      PickerIcons.load();
+      try {
+         Toolkit.getDefaultToolkit();
+         UIManager.getLookAndFeelDefaults();
+         new Font(Font.SANS_SERIF, Font.PLAIN, 13).getStringBounds("Graphics Debugger Selector", new FontRenderContext(null, true, true));
+      } catch (Throwable e) {
+         // The picker reports the real error if it can't open either
+         GfxDebuggers.LOGGER.debug("AWT warm-up failed: {}", e.toString());
+      }
+      return null;
+   }
+
+   /**
+    * Shows the picker and blocks until it is closed. {@code onVisible} runs once the window is on screen and
+    * {@code onPainted} once its first frame has been drawn. Throws {@link HeadlessException} when no window can be
+    * shown, including when the toolkit fails with an {@link AWTError} or cannot load its native libraries, so callers
+    * only need to catch exceptions to fall back.
+    */
+   static DebuggerLaunchRequest show(
+      boolean renderdocAvailable,
+      boolean ngfxAvailable,
+      CompletableFuture<NgfxHelpInfo> ngfxHelp,
+      Runnable onVisible,
+      Runnable onPainted
+   ) {
+      if (GraphicsEnvironment.isHeadless()) {
+         throw new HeadlessException("java.awt.headless is set");
+      }
+      try {
+         DebuggerPicker picker = new DebuggerPicker(renderdocAvailable, ngfxAvailable, ngfxHelp);
+         picker.afterNextPaint(onPainted);
+         picker.addWindowListener(
+            new WindowAdapter() {
+               @Override
+               public void windowOpened(WindowEvent e) {
+                  onVisible.run();
+               }
+            }
+         );
+         return picker.getRequest();
+      } catch (AWTError | LinkageError e) {
+         // e.g. "Can't connect to X11 window server" since the picker forces java.awt.headless off, or missing X libraries
+         HeadlessException headless = new HeadlessException(e.getMessage());
+         headless.initCause(e);
+         throw headless;
+      }
+   }
+}
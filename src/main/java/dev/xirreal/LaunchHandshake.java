@@ -0,0 +1,238 @@
+package dev.xirreal;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Measures how long the relaunched game takes to come back up. The parent puts
+ * {@code <launchId>:<handoffMillis>:<cds>} into the marker env var when it prepares the relaunch (execv or ngfx), and
+ * records the handoff once the relaunch can no longer fail on its side, withdrawing it should the relaunch fail after
+ * all. The child records how long it took to reach preLaunch and client init. Every step is appended to
+ * {@code launch-history.log} in the data dir, one line per event:
+ * {@code <epochMillis> <launchId> <event> <debugger> <ms> <cds>}, where {@code cds} is the {@link AppCds} mode so
+ * timings with and without the archive can be told apart.
+ */
+final class LaunchHandshake {
+
+   static final String HANDOFF = "handoff";
+   static final String HANDOFF_FAILED = "handoff-failed";
+   static final String PRE_LAUNCH = "prelaunch";
+   static final String CLIENT_INIT = "client-init";
+
+   private static final String FILE_NAME = "launch-history.log";
+   private static final int MAX_LINES = 2000;
+   private static final int SUMMARY_WINDOW = 100;
+
+   private static String pendingLaunchId;
+   private static String pendingDebugger;
+   private static String pendingCds;
+   private static long pendingHandoffMillis;
+
+   private LaunchHandshake() {}
+
+   /** The marker value to pass to the child. Nothing is recorded until {@link #handoff} is called with it. */
+   static String marker() {
+      return LaunchTrace.current().launchId + ":" + System.currentTimeMillis() + ":" + AppCds.mode();
+   }
+
+   /**
+    * Records the handoff in the parent. Call it only once nothing can stop the child from starting any more, so a
+    * relaunch that failed earlier is not counted as a child that never arrived.
+    */
+   static void handoff(String debugger, String marker) {
+      String[] parts = marker.split(":");
+      append(Long.parseLong(parts[1]), parts[0], HANDOFF, debugger, 0, parts[2]);
+   }
+
+   /**
+    * Withdraws the handoff recorded for {@code marker} when the relaunch failed after all, e.g. an execve that
+    * returned. Such a launch counts neither as a handoff nor as a child that never arrived.
+    */
+   static void handoffFailed(String debugger, String marker) {
+      String[] parts = marker.split(":");
+      append(System.currentTimeMillis(), parts[0], HANDOFF_FAILED, debugger, 0, parts[2]);
+   }
+
+   /**
+    * Called in the child with the marker env value. Values from older versions (plain "1") carry no handshake and
+    * are ignored.
+    */
+   static synchronized void onChildPreLaunch(String debugger, String markerValue) {
+      String[] parts = markerValue.split(":");
+      if (parts.length < 2 || parts[0].isEmpty()) {
+         return;
+      }
+      long handoffMillis;
+      try {
+         handoffMillis = Long.parseLong(parts[1]);
+      } catch (NumberFormatException e) {
+         return;
+      }
+
+      pendingLaunchId = parts[0];
+      pendingDebugger = debugger;
+      pendingHandoffMillis = handoffMillis;
+      pendingCds = parts.length > 2 ? parts[2] : AppCds.OFF;
+
+      long now = System.currentTimeMillis();
+      append(now, pendingLaunchId, PRE_LAUNCH, debugger, now - handoffMillis, pendingCds);
+      GfxDebuggers.LOGGER.info("Relaunched {} process reached preLaunch {} ms after handoff (CDS {})", debugger, now - handoffMillis, pendingCds);
+   }
+
+   /** Called from the client entrypoint, the last point before the first frame that the mod can observe. */
+   static synchronized void onClientInit() {
+      if (pendingLaunchId == null) {
+         return;
+      }
+      long now = System.currentTimeMillis();
+      append(now, pendingLaunchId, CLIENT_INIT, pendingDebugger, now - pendingHandoffMillis, pendingCds);
+      GfxDebuggers.LOGGER.info("Relaunched {} process reached client init {} ms after handoff (CDS {})", pendingDebugger, now - pendingHandoffMillis, pendingCds);
+      pendingLaunchId = null;
+      logSummary();
+   }
+
+   private static void append(long now, String launchId, String event, String debugger, long millis, String cds) {
+      String line = now + " " + launchId + " " + event + " " + debugger + " " + millis + " " + cds + "\n";
+      try {
+         Path file = PlatformUtils.getDataDir().resolve(FILE_NAME);
+         Files.write(file, line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+      } catch (IOException e) {
+         GfxDebuggers.LOGGER.warn("Could not append to launch history: {}", e.getMessage());
+      }
+   }
+
+   static List<String[]> readHistory() throws IOException {
+      Path file = PlatformUtils.getDataDir().resolve(FILE_NAME);
+      List<String> lines;
+      try {
+         lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+      } catch (NoSuchFileException e) {
+         return List.of();
+      }
+
+      if (lines.size() > MAX_LINES) {
+         lines = new ArrayList<>(lines.subList(lines.size() - MAX_LINES / 2, lines.size()));
+         PlatformUtils.writeAtomically(file, (String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8));
+      }
+
+      List<String[]> entries = new ArrayList<>(lines.size());
+      for (String line : lines) {
+         String[] fields = line.split(" ");
+         if (fields.length == 5) {
+            // Written before the CDS mode was recorded
+            entries.add(new String[] { fields[0], fields[1], fields[2], fields[3], fields[4], AppCds.OFF });
+         } else if (fields.length == 6) {
+            entries.add(fields);
+         }
+      }
+      return entries;
+   }
+
+   /**
+    * Logs p50/p95 of both child timings per debugger and CDS mode over the last launches, and how many children
+    * never arrived.
+    */
+   static void logSummary() {
+      List<String[]> entries;
+      try {
+         entries = readHistory();
+      } catch (IOException e) {
+         GfxDebuggers.LOGGER.warn("Could not read launch history: {}", e.getMessage());
+         return;
+      }
+
+      Set<String> groups = new HashSet<>();
+      for (String[] entry : entries) {
+         groups.add(group(entry));
+      }
+      for (String group : groups) {
+         List<Long> preLaunch = recent(entries, group, PRE_LAUNCH);
+         List<Long> clientInit = recent(entries, group, CLIENT_INIT);
+         GfxDebuggers.LOGGER.info(
+            "Relaunch history for {}: preLaunch {}, client init {}, {} of the last {} handoffs never reached preLaunch",
+            group,
+            percentiles(preLaunch),
+            percentiles(clientInit),
+            lostHandoffs(entries, group),
+            recentHandoffs(entries, group).size()
+         );
+      }
+   }
+
+   private static List<Long> recent(List<String[]> entries, String group, String event) {
+      List<Long> values = new ArrayList<>();
+      for (int i = entries.size() - 1; i >= 0 && values.size() < SUMMARY_WINDOW; i--) {
+         String[] entry = entries.get(i);
+         if (entry[2].equals(event) && group(entry).equals(group)) {
+            try {
+               values.add(Long.parseLong(entry[4]));
+            } catch (NumberFormatException ignored) {}
+         }
+      }
+      return values;
+   }
+
+   /** Launch ids of the most recent handoffs in {@code group}, leaving out withdrawn ones. */
+   private static List<String> recentHandoffs(List<String[]> entries, String group) {
+      Set<String> failed = new HashSet<>();
+      for (String[] entry : entries) {
+         if (entry[2].equals(HANDOFF_FAILED)) {
+            failed.add(entry[1]);
+         }
+      }
+      List<String> launchIds = new ArrayList<>();
+      for (int i = entries.size() - 1; i >= 0 && launchIds.size() < SUMMARY_WINDOW; i--) {
+         String[] entry = entries.get(i);
+         if (entry[2].equals(HANDOFF) && group(entry).equals(group) && !failed.contains(entry[1])) {
+            launchIds.add(entry[1]);
+         }
+      }
+      return launchIds;
+   }
+
+   static int lostHandoffs(List<String[]> entries, String group) {
+      Set<String> arrived = new HashSet<>();
+      for (String[] entry : entries) {
+         if (entry[2].equals(PRE_LAUNCH)) {
+            arrived.add(entry[1]);
+         }
+      }
+      int lost = 0;
+      for (String launchId : recentHandoffs(entries, group)) {
+         if (!arrived.contains(launchId)) {
+            lost++;
+         }
+      }
+      return lost;
+   }
+
+   // "renderdoc, CDS use" etc.
+   static String group(String[] entry) {
+      return entry[3] + ", CDS " + entry[5];
+   }
+
+   static String percentiles(List<Long> values) {
+      if (values.isEmpty()) {
+         return "n/a";
+      }
+      List<Long> sorted = new ArrayList<>(values);
+      Collections.sort(sorted);
+      return String.format(Locale.ROOT, "p50 %d ms / p95 %d ms (n=%d)", percentile(sorted, 50), percentile(sorted, 95), sorted.size());
+   }
+
+   // Nearest-rank percentile
+   private static long percentile(List<Long> sorted, int p) {
+      int rank = (int) Math.ceil(p / 100.0 * sorted.size());
+      return sorted.get(Math.max(0, rank - 1));
+   }
+}
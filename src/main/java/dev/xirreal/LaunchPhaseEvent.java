@@ -0,0 +1,50 @@
+package dev.xirreal;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one {@link LaunchTrace} phase. Only referenced through {@link LaunchTrace}, which checks that the
+ * {@code jdk.jfr} module is present first.
+ */
+@Name("dev.xirreal.LaunchPhase")
+@Label("Launch Phase")
+@Category({ "gfx-debuggers" })
+@Description("A phase of the gfx-debuggers preLaunch sequence")
+@StackTrace(false)
+final class LaunchPhaseEvent extends Event {
+
+   @Label("Launch ID")
+   String launchId;
+
+   @Label("Phase")
+   String phase;
+
+   @Label("Success")
+   boolean success;
+
+   @Label("Attributes")
+   String attributes;
+
+   static Object start() {
+      LaunchPhaseEvent event = new LaunchPhaseEvent();
+      event.begin();
+      return event;
+   }
+
+   static void end(Object started, String launchId, String phase, boolean success, Object attributes) {
+      LaunchPhaseEvent event = (LaunchPhaseEvent) started;
+      event.end();
+      if (event.shouldCommit()) {
+         event.launchId = launchId;
+         event.phase = phase;
+         event.success = success;
+         event.attributes = String.valueOf(attributes);
+         event.commit();
+      }
+   }
+}
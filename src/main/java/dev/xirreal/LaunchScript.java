@@ -0,0 +1,208 @@
+package dev.xirreal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reusable shell scripts that start the instrumented game directly, without the throwaway JVM that only exists to
+ * work out the relaunch command line. Written next to a persistent argfile, on Linux only, for
+ * {@code -Ddebugger=renderdoc} and {@code -Ddebugger=last}. The argfile holds the launcher's session token, so both
+ * live under {@code $XDG_STATE_HOME} rather than the config dir, which modpack exports bundle.
+ *
+ * Every script is stamped with a {@link ClassPathFingerprint} of the game JVM, which the game also receives in its
+ * marker env var as {@code script:<name>:<fingerprint>}. A game started from a script whose stamp no longer
+ * matches warns and regenerates the argfile from its own command line.
+ */
+final class LaunchScript {
+
+   static final String MARKER_PREFIX = "script:";
+
+   private static final String DIR = "launch";
+   private static final String STAMP = "# fingerprint: ";
+
+   private LaunchScript() {}
+
+   static boolean wanted(String optionString) {
+      if (!PlatformUtils.IS_LINUX || !Boolean.parseBoolean(System.getProperty("debugger.launchScript", "true"))) {
+         return false;
+      }
+      return optionString != null && (optionString.equalsIgnoreCase("renderdoc") || optionString.equalsIgnoreCase("last"));
+   }
+
+   /** Script name for a selection, matching the {@code -Ddebugger} value that launches it. */
+   static String name(DebuggerSelection selection) {
+      switch (selection) {
+         case RENDERDOC:
+            return "renderdoc";
+         case GPU_TRACE:
+            return "nsight-gpu";
+         default:
+            return "nsight-frame";
+      }
+   }
+
+   static String fingerprint() {
+      return ClassPathFingerprint.of(System.getProperty("java.class.path", ""));
+   }
+
+   static String marker(String name) {
+      return MARKER_PREFIX + name + ":" + fingerprint();
+   }
+
+   static Path argFile(String name) throws IOException {
+      return dir().resolve(name + ".args");
+   }
+
+   /** One directory per game instance, keyed by its data dir, under {@code $XDG_STATE_HOME/gfx-debuggers/launch}. */
+   static Path dir() throws IOException {
+      String state = System.getenv("XDG_STATE_HOME");
+      Path base = state != null && !state.isEmpty() ? Paths.get(state) : Paths.get(System.getProperty("user.home"), ".local", "state");
+      return base.resolve(GfxDebuggers.MOD_ID).resolve(DIR).resolve(PathingJar.hash(PlatformUtils.getDataDir().toAbsolutePath().toString()));
+   }
+
+   /**
+    * Writes the script and its argfile unless they are already up to date. {@code env} is exported before running
+    * {@code command} in {@code workDir}; {@code LD_PRELOAD} is prepended to, like the relaunch does.
+    */
+   static void update(String name, Map<String, String> env, List<String> command, String workDir, List<String> javaArgs) {
+      try {
+         Path argFile = argFile(name);
+         Path script = argFile.resolveSibling(name + ".sh");
+         createPrivateDirectories(argFile.getParent());
+
+         String args = renderArgFile(javaArgs);
+
+         String fingerprint = fingerprint();
+         StringBuilder sh = new StringBuilder();
+         sh.append("#!/bin/sh\n");
+         sh.append("# Generated by ").append(GfxDebuggers.MOD_ID).append(" for -Ddebugger=").append(name).append(", rewritten when the game setup changes.\n");
+         sh.append(STAMP).append(fingerprint).append('\n');
+         sh.append("cd ").append(quote(workDir)).append(" || exit 1\n");
+         for (Map.Entry<String, String> variable : env.entrySet()) {
+            sh.append("export ").append(variable.getKey()).append('=').append(quote(variable.getValue()));
+            if (variable.getKey().equals("LD_PRELOAD")) {
+               sh.append("\"${LD_PRELOAD:+:$LD_PRELOAD}\"");
+            }
+            sh.append('\n');
+         }
+         sh.append("exec");
+         for (String part : command) {
+            sh.append(' ').append(quote(part));
+         }
+         sh.append(" \"$@\"\n");
+
+         String previous = read(script);
+         if (sh.toString().equals(previous) && args.equals(read(argFile))) {
+            return;
+         }
+         if (previous != null && !previous.contains(STAMP + fingerprint + "\n")) {
+            GfxDebuggers.LOGGER.warn("Launch script {} was generated for a different JDK or classpath, regenerating it.", script);
+         }
+
+         // The argfile holds the launcher's game arguments, session token included
+         writePrivate(argFile, args, "rw-------");
+         writePrivate(script, sh.toString(), "rwx------");
+         LaunchTrace.attr("script", script);
+         GfxDebuggers.LOGGER.info("Wrote launch script {}, run it to start the game with {} directly.", script, name);
+      } catch (IOException | RuntimeException e) {
+         GfxDebuggers.LOGGER.warn("Could not write launch script: {}", e.getMessage());
+      }
+   }
+
+   /**
+    * Called in a game started from a script: if the JVM or classpath changed since it was written, warns and rebuilds
+    * the argfile from this game's own command line, then restamps the script.
+    */
+   static void onChildPreLaunch(String markerValue) {
+      if (!markerValue.startsWith(MARKER_PREFIX)) {
+         return;
+      }
+      String[] parts = markerValue.substring(MARKER_PREFIX.length()).split(":");
+      if (parts.length != 2 || !parts[0].matches("[a-z-]+") || !parts[1].matches("[0-9a-f]{16}")) {
+         return;
+      }
+      String name = parts[0];
+      String fingerprint = fingerprint();
+      if (parts[1].equals(fingerprint)) {
+         GfxDebuggers.LOGGER.info("Started from the {} launch script.", name);
+         return;
+      }
+
+      try {
+         Path argFile = argFile(name);
+         Path script = argFile.resolveSibling(name + ".sh");
+         String content = read(script);
+         if (content == null) {
+            return;
+         }
+         // The fingerprint skips missing jars, so rebuilding from this command line would bless a broken classpath
+         List<String> missing = missingEntries(System.getProperty("java.class.path", ""));
+         if (!missing.isEmpty()) {
+            GfxDebuggers.LOGGER.warn("Launch script {} points at classpath entries that no longer exist ({}). Start the game once from the launcher with -Ddebugger={} to regenerate it.", script, String.join(", ", missing), name);
+            return;
+         }
+
+         GfxDebuggers.LOGGER.warn("Launch script {} was generated for a different JDK or classpath, regenerating it from this launch.", script);
+         writePrivate(argFile, renderArgFile(RelaunchCommandLine.expandArgFiles(RelaunchCommandLine.build())), "rw-------");
+         writePrivate(script, content.replace(STAMP + parts[1] + "\n", STAMP + fingerprint + "\n"), "rwx------");
+      } catch (IOException | RuntimeException e) {
+         GfxDebuggers.LOGGER.warn("Could not update launch script: {}", e.getMessage());
+      }
+   }
+
+   private static String renderArgFile(List<String> javaArgs) {
+      StringBuilder args = new StringBuilder();
+      for (String arg : javaArgs) {
+         // Once the first relaunch has dumped the archive, the script should only ever map it
+         if (arg.startsWith("-XX:ArchiveClassesAtExit=")) {
+            arg = "-XX:SharedArchiveFile=" + arg.substring("-XX:ArchiveClassesAtExit=".length());
+         }
+         args.append(PlatformUtils.quoteForArgFile(arg)).append('\n');
+      }
+      return args.toString();
+   }
+
+   static List<String> missingEntries(String classPath) {
+      List<String> missing = new ArrayList<>();
+      for (String entry : classPath.split(File.pathSeparator)) {
+         if (!entry.isEmpty() && !Files.exists(Paths.get(entry))) {
+            missing.add(entry);
+         }
+      }
+      return missing;
+   }
+
+   private static void createPrivateDirectories(Path dir) throws IOException {
+      if (!Files.isDirectory(dir)) {
+         createPrivateDirectories(dir.getParent());
+         Files.createDirectory(dir, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+      }
+   }
+
+   private static String read(Path file) throws IOException {
+      try {
+         return Files.readString(file, StandardCharsets.UTF_8);
+      } catch (NoSuchFileException e) {
+         return null;
+      }
+   }
+
+   private static void writePrivate(Path file, String content, String permissions) throws IOException {
+      PlatformUtils.writeAtomically(file, content.getBytes(StandardCharsets.UTF_8));
+      Files.setPosixFilePermissions(file, PosixFilePermissions.fromString(permissions));
+   }
+
+   // POSIX shell single quoting
+   static String quote(String value) {
+      return "'" + value.replace("'", "'\\''") + "'";
+   }
+}
@@ -0,0 +1,223 @@
+package dev.xirreal;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Timeline of one launch attempt. Every phase is emitted as a {@link LaunchPhaseEvent} for JFR (which costs next
+ * to nothing while no recording is running) and collected for a JSON report in {@code launch-reports/} under the
+ * data dir, written when the launch ends.
+ */
+final class LaunchTrace {
+
+   private static final String REPORT_DIR = "launch-reports";
+   private static final int MAX_REPORTS = 20;
+   private static final boolean JFR_AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+   private static final LaunchTrace CURRENT = new LaunchTrace();
+   private static final ThreadLocal<Phase> ACTIVE = new ThreadLocal<>();
+
+   final String launchId = UUID.randomUUID().toString();
+   final long startMillis = System.currentTimeMillis();
+   private final long startNanos = System.nanoTime();
+   private final List<Phase> phases = new ArrayList<>();
+   private volatile String outcome;
+
+   private LaunchTrace() {}
+
+   static LaunchTrace current() {
+      return CURRENT;
+   }
+
+   /** Starts a phase of the current launch; close it to record its duration. */
+   static Phase phase(String name) {
+      return CURRENT.begin(name);
+   }
+
+   /** Adds an attribute to the innermost phase open on this thread, if any. */
+   static void attr(String key, Object value) {
+      Phase phase = ACTIVE.get();
+      if (phase != null) {
+         phase.attr(key, value);
+      }
+   }
+
+   final class Phase implements AutoCloseable {
+
+      final String name;
+      final String thread = Thread.currentThread().getName();
+      final long startNanos = System.nanoTime();
+      private final Phase parent = ACTIVE.get();
+      private final Object event = JFR_AVAILABLE ? LaunchPhaseEvent.start() : null;
+      private final Map<String, String> attributes = new LinkedHashMap<>();
+      private volatile long endNanos = -1;
+      private volatile boolean success = true;
+
+      private Phase(String name) {
+         this.name = name;
+      }
+
+      Phase attr(String key, Object value) {
+         synchronized (attributes) {
+            attributes.put(key, String.valueOf(value));
+         }
+         return this;
+      }
+
+      Phase fail(Object reason) {
+         success = false;
+         return attr("error", reason);
+      }
+
+      @Override
+      public void close() {
+         if (endNanos >= 0) {
+            return;
+         }
+         endNanos = System.nanoTime();
+         if (ACTIVE.get() == this) {
+            if (parent != null) {
+               ACTIVE.set(parent);
+            } else {
+               ACTIVE.remove();
+            }
+         }
+         if (event != null) {
+            synchronized (attributes) {
+               LaunchPhaseEvent.end(event, launchId, name, success, attributes);
+            }
+         }
+      }
+   }
+
+   private Phase begin(String name) {
+      Phase phase = new Phase(name);
+      ACTIVE.set(phase);
+      synchronized (phases) {
+         phases.add(phase);
+      }
+      return phase;
+   }
+
+   /** Sets how the launch ended, e.g. "ngfx" or "skipped". The first outcome set wins. */
+   void outcome(String outcome) {
+      if (this.outcome == null) {
+         this.outcome = outcome;
+      }
+   }
+
+   /**
+    * Writes the report for everything recorded so far. Safe to call more than once (e.g. right before execv and
+    * again if it fails); the last call wins.
+    */
+   void finish() {
+      try {
+         Path dir = PlatformUtils.getDataDir().resolve(REPORT_DIR);
+         Files.createDirectories(dir);
+         Path report = dir.resolve(startMillis + "-" + launchId + ".json");
+         PlatformUtils.writeAtomically(report, toJson().getBytes(StandardCharsets.UTF_8));
+         prune(dir);
+      } catch (IOException e) {
+         GfxDebuggers.LOGGER.warn("Could not write launch report: {}", e.getMessage());
+      }
+   }
+
+   private static void prune(Path dir) throws IOException {
+      List<Path> reports;
+      try (Stream<Path> files = Files.list(dir)) {
+         // Names start with the launch time, so they sort oldest first
+         reports = files.filter(p -> p.getFileName().toString().endsWith(".json")).sorted().toList();
+      }
+      for (int i = 0; i < reports.size() - MAX_REPORTS; i++) {
+         Files.deleteIfExists(reports.get(i));
+      }
+   }
+
+   String toJson() {
+      StringBuilder sb = new StringBuilder(1024);
+      sb.append("{\n  \"launchId\": ");
+      appendString(sb, launchId);
+      sb.append(",\n  \"startedAt\": ").append(startMillis);
+      sb.append(",\n  \"outcome\": ");
+      appendString(sb, outcome != null ? outcome : "incomplete");
+      sb.append(",\n  \"totalMs\": ").append(millis(System.nanoTime() - startNanos));
+      sb.append(",\n  \"phases\": [");
+
+      List<Phase> snapshot;
+      synchronized (phases) {
+         snapshot = new ArrayList<>(phases);
+      }
+      for (int i = 0; i < snapshot.size(); i++) {
+         Phase phase = snapshot.get(i);
+         sb.append(i == 0 ? "\n    {" : ",\n    {");
+         sb.append("\"name\": ");
+         appendString(sb, phase.name);
+         sb.append(", \"thread\": ");
+         appendString(sb, phase.thread);
+         sb.append(", \"startMs\": ").append(millis(phase.startNanos - startNanos));
+         long end = phase.endNanos;
+         sb.append(", \"durationMs\": ").append(end >= 0 ? millis(end - phase.startNanos) : "null");
+         sb.append(", \"success\": ").append(phase.success);
+         sb.append(", \"attributes\": {");
+         synchronized (phase.attributes) {
+            boolean first = true;
+            for (Map.Entry<String, String> entry : phase.attributes.entrySet()) {
+               if (!first) {
+                  sb.append(", ");
+               }
+               first = false;
+               appendString(sb, entry.getKey());
+               sb.append(": ");
+               appendString(sb, entry.getValue());
+            }
+         }
+         sb.append("}}");
+      }
+      sb.append(snapshot.isEmpty() ? "]\n}\n" : "\n  ]\n}\n");
+      return sb.toString();
+   }
+
+   private static String millis(long nanos) {
+      return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+   }
+
+   private static void appendString(StringBuilder sb, String value) {
+      sb.append('"');
+      for (int i = 0; i < value.length(); i++) {
+         char c = value.charAt(i);
+         switch (c) {
+            case '"':
+               sb.append("\\\"");
+               break;
+            case '\\':
+               sb.append("\\\\");
+               break;
+            case '\n':
+               sb.append("\\n");
+               break;
+            case '\r':
+               sb.append("\\r");
+               break;
+            case '\t':
+               sb.append("\\t");
+               break;
+            default:
+               if (c < 0x20) {
+                  sb.append(String.format("\\u%04x", (int) c));
+               } else {
+                  sb.append(c);
+               }
+         }
+      }
+      sb.append('"');
+   }
+}
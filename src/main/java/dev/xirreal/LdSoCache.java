@@ -0,0 +1,168 @@
+package dev.xirreal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reader for the binary {@code /etc/ld.so.cache} index written by ldconfig, resolving sonames the same way the
+ * dynamic linker does instead of guessing library directories one stat at a time.
+ *
+ * Both the current {@code glibc-ld.so.cache1.1} layout and the legacy {@code ld.so-1.7.0} layout (optionally
+ * followed by the new one) are understood. Only entries built for the running architecture are kept.
+ */
+final class LdSoCache {
+
+   static final Path DEFAULT_PATH = Paths.get("/etc/ld.so.cache");
+
+   private static final byte[] OLD_MAGIC = "ld.so-1.7.0".getBytes(StandardCharsets.US_ASCII);
+   private static final byte[] NEW_MAGIC = "glibc-ld.so.cache1.1".getBytes(StandardCharsets.US_ASCII);
+
+   private static final int OLD_HEADER_SIZE = 16;
+   private static final int OLD_ENTRY_SIZE = 12;
+   private static final int NEW_HEADER_SIZE = 48;
+   private static final int NEW_ENTRY_SIZE = 24;
+
+   private static final int FLAG_TYPE_MASK = 0x00ff;
+   private static final int FLAG_ELF = 0x0001;
+   private static final int FLAG_ELF_LIBC6 = 0x0003;
+   private static final int FLAG_REQUIRED_MASK = 0xff00;
+   private static final int FLAG_X8664_LIB64 = 0x0300;
+   private static final int FLAG_AARCH64_LIB64 = 0x0a00;
+
+   private final Map<String, String> libraries;
+
+   private LdSoCache(Map<String, String> libraries) {
+      this.libraries = libraries;
+   }
+
+   /**
+    * Parses the cache at {@code file}, returning null if it is missing or not in a recognised format.
+    */
+   static LdSoCache load(Path file) {
+      byte[] data;
+      try {
+         data = Files.readAllBytes(file);
+      } catch (NoSuchFileException e) {
+         return null;
+      } catch (IOException | SecurityException e) {
+         GfxDebuggers.LOGGER.debug("Could not read {}: {}", file, e.getMessage());
+         return null;
+      }
+
+      try {
+         return parse(data, requiredArchFlags(System.getProperty("os.arch")));
+      } catch (IndexOutOfBoundsException e) {
+         GfxDebuggers.LOGGER.debug("{} is truncated or corrupt, ignoring it", file);
+         return null;
+      }
+   }
+
+   static LdSoCache parse(byte[] data, int requiredFlags) {
+      ByteBuffer buf = ByteBuffer.wrap(data).order(ByteOrder.nativeOrder());
+
+      int newStart = -1;
+      if (startsWith(data, 0, NEW_MAGIC)) {
+         newStart = 0;
+      } else if (startsWith(data, 0, OLD_MAGIC)) {
+         int oldCount = buf.getInt(OLD_MAGIC.length + 1);
+         int oldEnd = OLD_HEADER_SIZE + oldCount * OLD_ENTRY_SIZE;
+         int aligned = (oldEnd + 7) & ~7;
+         if (startsWith(data, aligned, NEW_MAGIC)) {
+            newStart = aligned;
+         } else {
+            return new LdSoCache(readEntries(buf, OLD_HEADER_SIZE, oldCount, OLD_ENTRY_SIZE, oldEnd, requiredFlags));
+         }
+      } else {
+         return null;
+      }
+
+      int count = buf.getInt(newStart + NEW_MAGIC.length);
+      return new LdSoCache(readEntries(buf, newStart + NEW_HEADER_SIZE, count, NEW_ENTRY_SIZE, newStart, requiredFlags));
+   }
+
+   private static Map<String, String> readEntries(ByteBuffer buf, int first, int count, int entrySize, int stringBase, int requiredFlags) {
+      Map<String, String> libraries = new HashMap<>(Math.max(16, count * 2));
+      for (int i = 0; i < count; i++) {
+         int entry = first + i * entrySize;
+         int flags = buf.getInt(entry);
+         int type = flags & FLAG_TYPE_MASK;
+         if (type != FLAG_ELF && type != FLAG_ELF_LIBC6) {
+            continue;
+         }
+         if (requiredFlags >= 0 && (flags & FLAG_REQUIRED_MASK) != requiredFlags) {
+            continue;
+         }
+         String key = readString(buf, stringBase + buf.getInt(entry + 4));
+         // ldconfig sorts entries by preference, so the first match for a name is the one the linker would use
+         libraries.putIfAbsent(key, readString(buf, stringBase + buf.getInt(entry + 8)));
+      }
+      return libraries;
+   }
+
+   String find(String soname) {
+      return libraries.get(soname);
+   }
+
+   /**
+    * Looks for {@code soname} in a colon-separated search path such as {@code LD_LIBRARY_PATH}.
+    */
+   static String findInSearchPath(String searchPath, String soname) {
+      if (searchPath == null || searchPath.isEmpty()) {
+         return null;
+      }
+      for (String dir : searchPath.split(":")) {
+         // An empty element means the current directory, same as the dynamic linker
+         File candidate = new File(dir.isEmpty() ? "." : dir, soname);
+         if (candidate.isFile()) {
+            return candidate.getAbsolutePath();
+         }
+      }
+      return null;
+   }
+
+   static int requiredArchFlags(String arch) {
+      if (arch == null) {
+         return -1;
+      }
+      switch (arch.toLowerCase()) {
+         case "amd64":
+         case "x86_64":
+            return FLAG_X8664_LIB64;
+         case "aarch64":
+            return FLAG_AARCH64_LIB64;
+         default:
+            return -1;
+      }
+   }
+
+   private static boolean startsWith(byte[] data, int offset, byte[] magic) {
+      if (offset < 0 || offset + magic.length > data.length) {
+         return false;
+      }
+      for (int i = 0; i < magic.length; i++) {
+         if (data[offset + i] != magic[i]) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private static String readString(ByteBuffer buf, int offset) {
+      int end = offset;
+      while (buf.get(end) != 0) {
+         end++;
+      }
+      byte[] bytes = new byte[end - offset];
+      buf.get(offset, bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+   }
+}
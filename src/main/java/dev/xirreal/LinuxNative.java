@@ -0,0 +1,62 @@
+package dev.xirreal;
+
+import com.sun.jna.Library;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLibrary;
+import com.sun.jna.StringArray;
+import com.sun.jna.ptr.PointerByReference;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/** JNA bindings, in their own class so JNA and its native stub are only loaded by launches that call into libc. */
+final class LinuxNative {
+
+   interface LibC extends Library {
+      LibC INSTANCE = Native.load("c", LibC.class);
+      int execve(String pathname, StringArray argv, StringArray envp);
+   }
+
+   // <dlfcn.h> on Linux
+   private static final int RTLD_NOW = 0x2;
+   private static final int RTLD_GLOBAL = 0x100;
+   // eRENDERDOC_API_Version_1_0_0, which every RenderDoc release still answers
+   private static final int RENDERDOC_API_1_0_0 = 10000;
+
+   // Held for the lifetime of the process, JNA closes libraries that become unreachable
+   private static final List<NativeLibrary> globalLibraries = new ArrayList<>();
+
+   /**
+    * Loads RenderDoc into this process with {@code RTLD_NOW | RTLD_GLOBAL}, so its symbols take part in symbol
+    * resolution for everything loaded afterwards, the way LD_PRELOAD would. Returns true only if
+    * {@code RENDERDOC_GetAPI} hands out an API table and the library shows up in {@code /proc/self/maps}.
+    */
+   static synchronized boolean loadRenderdoc(String path) {
+      try {
+         NativeLibrary library = NativeLibrary.getInstance(path, Map.of(Library.OPTION_OPEN_FLAGS, RTLD_NOW | RTLD_GLOBAL));
+         globalLibraries.add(library);
+         // int RENDERDOC_GetAPI(RENDERDOC_Version version, void **outAPIPointers), 1 on success
+         PointerByReference api = new PointerByReference();
+         int result = library.getFunction("RENDERDOC_GetAPI").invokeInt(new Object[] { RENDERDOC_API_1_0_0, api });
+         if (result != 1 || api.getValue() == null) {
+            GfxDebuggers.LOGGER.warn("RENDERDOC_GetAPI in {} returned {} without an API table", path, result);
+            return false;
+         }
+      } catch (LinkageError e) {
+         // Also covers JNA itself failing to load
+         GfxDebuggers.LOGGER.warn("Could not load {} in-process: {}", path, e.toString());
+         return false;
+      }
+      // Mappings list the file a symlink points to
+      Path file = Paths.get(path);
+      try {
+         file = file.toRealPath();
+      } catch (IOException e) {
+         // Keep the given name
+      }
+      return PlatformUtils.isLibraryLoaded(file.getFileName().toString());
+   }
+}
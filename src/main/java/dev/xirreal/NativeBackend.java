@@ -0,0 +1,34 @@
+package dev.xirreal;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * How the game process is replaced by a relaunched one. The JNA backend really replaces the process with
+ * {@code execve}; the fallback starts the new game as a child and exits along with it, without touching native code.
+ * Chosen with {@code -Ddebugger.native=jna|process}, defaulting to JNA and falling back if it can't be loaded.
+ */
+interface NativeBackend {
+   String name();
+
+   /**
+    * Runs {@code exe} with {@code args} (not including argv[0]) and exactly the environment {@code env}, in place of
+    * this process. Only returns if that failed; this process' own environment is never modified.
+    */
+   boolean replaceProcess(String exe, List<String> args, Map<String, String> env);
+
+   static NativeBackend select() {
+      String option = System.getProperty("debugger.native", "jna");
+      NativeBackend backend;
+      if (option.equalsIgnoreCase("process")) {
+         backend = new ProcessBuilderBackend();
+      } else {
+         if (!option.equalsIgnoreCase("jna")) {
+            GfxDebuggers.LOGGER.warn("Unknown native backend '{}', using jna.", option);
+         }
+         backend = ExecveBackend.available() ? new ExecveBackend() : new ProcessBuilderBackend();
+      }
+      LaunchTrace.attr("backend", backend.name());
+      return backend;
+   }
+}
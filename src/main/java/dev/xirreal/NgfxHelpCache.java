@@ -0,0 +1,170 @@
+package dev.xirreal;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * On-disk cache of parsed {@code ngfx --help-all} output, keyed by the identity of the ngfx binary (path, size
+ * and mtime). Upgrading NSight changes the key, so the cache invalidates itself; entries that are merely old are
+ * still used but re-parsed in the background. On a miss, a schema bundled for the detected NSight version is used
+ * instead of blocking on ngfx, and the live parse only runs in the background to verify it.
+ */
+public final class NgfxHelpCache {
+
+   private static final String FILE_NAME = "ngfx-help.bin";
+   private static final int MAGIC = 0x4e474658; // "NGFX"
+   private static final long MAX_AGE_MS = TimeUnit.DAYS.toMillis(7);
+   // The picker only shows GPU Trace options, so ngfx is stopped as soon as that section has been read
+   static final List<String> ACTIVITIES = List.of(NgfxHelpInfo.GPU_TRACE_ACTIVITY);
+
+   private NgfxHelpCache() {}
+
+   public static NgfxHelpInfo get(Path ngfxExe) {
+      String key = identity(ngfxExe);
+      if (key == null) {
+         return NgfxHelpParser.parse(ngfxExe, ACTIVITIES);
+      }
+
+      Entry cached = read();
+      if (cached != null && cached.key.equals(key)) {
+         if (System.currentTimeMillis() - cached.writtenAt > MAX_AGE_MS) {
+            refreshInBackground(ngfxExe, key, null);
+         }
+         GfxDebuggers.LOGGER.debug("Using cached ngfx help for {}", ngfxExe);
+         return cached.info;
+      }
+
+      NgfxHelpInfo bundled = NgfxSchemaBundle.find(ngfxExe);
+      if (bundled != null) {
+         GfxDebuggers.LOGGER.info("Using bundled ngfx option schema for {}, verifying it in the background", NgfxSchemaBundle.detectVersion(ngfxExe));
+         refreshInBackground(ngfxExe, key, bundled);
+         return bundled;
+      }
+
+      NgfxHelpInfo info = NgfxHelpParser.parse(ngfxExe, ACTIVITIES);
+      store(key, info);
+      return info;
+   }
+
+   /**
+    * Like {@link #get(Path)}, but only consults the disk cache and the bundled schemas: returns null instead of
+    * running ngfx, and never starts a background refresh.
+    */
+   public static NgfxHelpInfo peek(Path ngfxExe) {
+      String key = identity(ngfxExe);
+      if (key != null) {
+         Entry cached = read();
+         if (cached != null && cached.key.equals(key)) {
+            return cached.info;
+         }
+      }
+      return NgfxSchemaBundle.find(ngfxExe);
+   }
+
+   private static void refreshInBackground(Path ngfxExe, String key, NgfxHelpInfo expected) {
+      Thread thread = new Thread(
+         () -> {
+            NgfxHelpInfo info = NgfxHelpParser.parse(ngfxExe, ACTIVITIES);
+            if (expected != null && info.complete && !Arrays.equals(encode(requested(expected)), encode(requested(info)))) {
+               GfxDebuggers.LOGGER.warn("Bundled ngfx option schema does not match {} --help-all, live options will be used from the next launch.", ngfxExe);
+            }
+            store(key, info);
+         },
+         "gfx-debuggers-help-refresh"
+      );
+      thread.setDaemon(true);
+      thread.start();
+   }
+
+   /** Only the parts of {@code info} that a live parse stopped at {@link #ACTIVITIES} is guaranteed to contain. */
+   private static NgfxHelpInfo requested(NgfxHelpInfo info) {
+      Map<String, List<NgfxOption>> options = new LinkedHashMap<>();
+      for (String activity : ACTIVITIES) {
+         options.put(activity, info.optionsFor(activity));
+      }
+      return new NgfxHelpInfo(info.platforms, info.activities, options, info.complete);
+   }
+
+   static String identity(Path ngfxExe) {
+      try {
+         Path real = ngfxExe.toRealPath();
+         BasicFileAttributes attrs = Files.readAttributes(real, BasicFileAttributes.class);
+         return real + "|" + attrs.size() + "|" + attrs.lastModifiedTime().toMillis();
+      } catch (IOException | SecurityException e) {
+         return null;
+      }
+   }
+
+   private static final class Entry {
+
+      final String key;
+      final long writtenAt;
+      final NgfxHelpInfo info;
+
+      Entry(String key, long writtenAt, NgfxHelpInfo info) {
+         this.key = key;
+         this.writtenAt = writtenAt;
+         this.info = info;
+      }
+   }
+
+   private static Entry read() {
+      try (InputStream raw = Files.newInputStream(PlatformUtils.getDataDir().resolve(FILE_NAME)); DataInputStream in = new DataInputStream(new BufferedInputStream(raw))) {
+         if (in.readInt() != MAGIC || in.readInt() != NgfxHelpCodec.VERSION) {
+            return null;
+         }
+         String key = in.readUTF();
+         long writtenAt = in.readLong();
+         return new Entry(key, writtenAt, NgfxHelpCodec.read(in));
+      } catch (NoSuchFileException e) {
+         return null;
+      } catch (IOException e) {
+         GfxDebuggers.LOGGER.warn("Ignoring unreadable ngfx help cache: {}", e.getMessage());
+         return null;
+      }
+   }
+
+   private static byte[] encode(NgfxHelpInfo info) {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (DataOutputStream out = new DataOutputStream(bytes)) {
+         NgfxHelpCodec.write(out, info);
+      } catch (IOException e) {
+         throw new UncheckedIOException(e);
+      }
+      return bytes.toByteArray();
+   }
+
+   private static synchronized void store(String key, NgfxHelpInfo info) {
+      // A failed or timed out parse yields a partial result, which must not hide the real options on later launches
+      if (!info.complete || (info.platforms.isEmpty() && info.activities.isEmpty())) {
+         return;
+      }
+      try {
+         ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+         try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(NgfxHelpCodec.VERSION);
+            out.writeUTF(key);
+            out.writeLong(System.currentTimeMillis());
+            NgfxHelpCodec.write(out, info);
+         }
+         PlatformUtils.writeAtomically(PlatformUtils.getDataDir().resolve(FILE_NAME), bytes.toByteArray());
+      } catch (IOException e) {
+         GfxDebuggers.LOGGER.warn("Could not write ngfx help cache: {}", e.getMessage());
+      }
+   }
+}
@@ -0,0 +1,93 @@
+package dev.xirreal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary form of {@link NgfxHelpInfo}, used for the on-disk help cache.
+ */
+final class NgfxHelpCodec {
+
+   static final int VERSION = 2;
+
+   private NgfxHelpCodec() {}
+
+   static void write(DataOutput out, NgfxHelpInfo info) throws IOException {
+      writeStrings(out, info.platforms);
+      writeStrings(out, info.activities);
+      out.writeInt(info.activityOptions.size());
+      for (Map.Entry<String, List<NgfxOption>> entry : info.activityOptions.entrySet()) {
+         out.writeUTF(entry.getKey());
+         writeOptions(out, entry.getValue());
+      }
+   }
+
+   static NgfxHelpInfo read(DataInput in) throws IOException {
+      List<String> platforms = readStrings(in);
+      List<String> activities = readStrings(in);
+      int sections = in.readInt();
+      Map<String, List<NgfxOption>> activityOptions = new LinkedHashMap<>();
+      for (int i = 0; i < sections; i++) {
+         String activity = in.readUTF();
+         activityOptions.put(activity, readOptions(in));
+      }
+      return new NgfxHelpInfo(platforms, activities, activityOptions);
+   }
+
+   private static void writeOptions(DataOutput out, List<NgfxOption> options) throws IOException {
+      out.writeInt(options.size());
+      for (NgfxOption opt : options) {
+         out.writeUTF(opt.flag);
+         out.writeByte((opt.takesValue ? 1 : 0) | (opt.deprecated ? 2 : 0) | (opt.booleanArg ? 4 : 0));
+         writeNullable(out, opt.defaultValue);
+         out.writeUTF(opt.description);
+         writeStrings(out, opt.choices);
+      }
+   }
+
+   private static List<NgfxOption> readOptions(DataInput in) throws IOException {
+      int count = in.readInt();
+      List<NgfxOption> options = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+         String flag = in.readUTF();
+         int bits = in.readByte();
+         String defaultValue = readNullable(in);
+         String description = in.readUTF();
+         List<String> choices = readStrings(in);
+         options.add(new NgfxOption(flag, (bits & 1) != 0, defaultValue, description, (bits & 2) != 0, (bits & 4) != 0, choices));
+      }
+      return options;
+   }
+
+   private static void writeStrings(DataOutput out, List<String> values) throws IOException {
+      out.writeInt(values.size());
+      for (String value : values) {
+         out.writeUTF(value);
+      }
+   }
+
+   private static List<String> readStrings(DataInput in) throws IOException {
+      int count = in.readInt();
+      List<String> values = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+         values.add(in.readUTF());
+      }
+      return values;
+   }
+
+   private static void writeNullable(DataOutput out, String value) throws IOException {
+      out.writeBoolean(value != null);
+      if (value != null) {
+         out.writeUTF(value);
+      }
+   }
+
+   private static String readNullable(DataInput in) throws IOException {
+      return in.readBoolean() ? in.readUTF() : null;
+   }
+}
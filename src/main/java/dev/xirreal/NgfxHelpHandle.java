@@ -0,0 +1,42 @@
+package dev.xirreal;
+
+import java.nio.file.Path;
+
+/**
+ * Lazily acquired {@code ngfx --help-all} information for one ngfx executable. Nothing is read or run until a
+ * caller actually needs the options: {@link #get()} forces the parse (through {@link NgfxHelpCache}) and memoizes
+ * it, while {@link #peek()} only returns what is already known without starting ngfx.
+ */
+public final class NgfxHelpHandle {
+
+   private final Path ngfxExe;
+   // Written once under the lock in get(), read without it by peek() so the picker never waits on a running parse
+   private volatile NgfxHelpInfo info;
+
+   public NgfxHelpHandle(Path ngfxExe) {
+      this.ngfxExe = ngfxExe;
+   }
+
+   public NgfxHelpInfo get() {
+      NgfxHelpInfo result = info;
+      if (result == null) {
+         synchronized (this) {
+            result = info;
+            if (result == null) {
+               result = NgfxHelpCache.get(ngfxExe);
+               info = result;
+            }
+         }
+      }
+      return result;
+   }
+
+   /**
+    * Returns the forced result if there is one, otherwise cached or bundled help if available, otherwise null.
+    * Never spawns a process, and never waits for a {@link #get()} in progress on another thread.
+    */
+   public NgfxHelpInfo peek() {
+      NgfxHelpInfo result = info;
+      return result != null ? result : NgfxHelpCache.peek(ngfxExe);
+   }
+}
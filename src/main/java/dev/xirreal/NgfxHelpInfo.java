@@ -1,17 +1,54 @@
 package dev.xirreal;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public final class NgfxHelpInfo {
 
+   public static final String GPU_TRACE_ACTIVITY = "GPU Trace Profiler";
+
    public final List<String> platforms;
    public final List<String> activities;
+   /** Options of every "<activity> activity options" section, keyed by activity name in output order. */
+   public final Map<String, List<NgfxOption>> activityOptions;
    public final List<NgfxOption> gpuTraceOptions;
+   /**
+    * False if ngfx failed, exited with an error or ran out of time before everything that was asked for could be
+    * parsed. Sections of activities that were not asked for may be missing even when this is set.
+    */
+   public final boolean complete;
+
+   private final Map<String, Map<String, NgfxOption>> optionsByFlag = new HashMap<>();
+
+   public NgfxHelpInfo(List<String> platforms, List<String> activities, Map<String, List<NgfxOption>> activityOptions) {
+      this(platforms, activities, activityOptions, true);
+   }
 
-   public NgfxHelpInfo(List<String> platforms, List<String> activities, List<NgfxOption> gpuTraceOptions) {
+   public NgfxHelpInfo(List<String> platforms, List<String> activities, Map<String, List<NgfxOption>> activityOptions, boolean complete) {
       this.platforms = platforms;
       this.activities = activities;
-      this.gpuTraceOptions = gpuTraceOptions;
+      this.activityOptions = Collections.unmodifiableMap(new LinkedHashMap<>(activityOptions));
+
+      List<NgfxOption> gpuTrace = List.of();
+      for (Map.Entry<String, List<NgfxOption>> entry : activityOptions.entrySet()) {
+         Map<String, NgfxOption> byFlag = new HashMap<>();
+         for (NgfxOption opt : entry.getValue()) {
+            byFlag.putIfAbsent(opt.flag, opt);
+         }
+         optionsByFlag.put(entry.getKey().toLowerCase(), byFlag);
+         if (entry.getKey().equalsIgnoreCase(GPU_TRACE_ACTIVITY)) {
+            gpuTrace = entry.getValue();
+         }
+      }
+      this.gpuTraceOptions = gpuTrace;
+      this.complete = complete;
+   }
+
+   public static NgfxHelpInfo empty() {
+      return new NgfxHelpInfo(List.of(), List.of(), Map.of(), false);
    }
 
    public String findActivity(String keyword) {
@@ -22,4 +59,18 @@ public final class NgfxHelpInfo {
       }
       return null;
    }
+
+   public List<NgfxOption> optionsFor(String activity) {
+      for (Map.Entry<String, List<NgfxOption>> entry : activityOptions.entrySet()) {
+         if (entry.getKey().equalsIgnoreCase(activity)) {
+            return entry.getValue();
+         }
+      }
+      return List.of();
+   }
+
+   public NgfxOption findOption(String activity, String flag) {
+      Map<String, NgfxOption> byFlag = optionsByFlag.get(activity.toLowerCase());
+      return byFlag != null ? byFlag.get(flag) : null;
+   }
 }
@@ -1,195 +1,368 @@
 package dev.xirreal;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.TimeoutException;
 
 public final class NgfxHelpParser {
 
-   private static final Pattern OPTION_LINE = Pattern.compile("^\\s{2}(--[a-zA-Z0-9][a-zA-Z0-9_-]*)(?:\\s+arg)?(?:\\s+\\(=(.+?)\\))?\\s*(.*)$");
-   private static final Pattern SECTION_HEADER = Pattern.compile("^(\\S.+?):\\s*$");
+   private static final String ACTIVITY_SECTION_SUFFIX = " activity options";
+   private static final long DEFAULT_TIMEOUT_MS = 5000;
 
    private NgfxHelpParser() {}
 
    public static NgfxHelpInfo parse(Path ngfxExe) {
-      List<String> lines = runHelpAll(ngfxExe);
-      if (lines == null) {
-         return new NgfxHelpInfo(List.of(), List.of(), List.of());
-      }
-
-      List<String> platforms = parsePlatforms(lines);
-      List<String> activities = parseActivities(lines);
-      List<NgfxOption> gpuTraceOptions = parseActivityOptions(lines, "GPU Trace Profiler activity options");
+      return parse(ngfxExe, null);
+   }
 
-      return new NgfxHelpInfo(platforms, activities, gpuTraceOptions);
+   /**
+    * Runs {@code ngfx --help-all} under a wall-clock deadline covering both reading and exit. If {@code activities}
+    * is non-null, reading stops (and ngfx is killed) as soon as the platform list, the activity list and the option
+    * sections of those activities have been parsed; the result is then complete for those activities only, and
+    * other sections may be missing. When the deadline expires, even if only the exit is late, or ngfx exits with an
+    * error, whatever was parsed so far is returned with {@link NgfxHelpInfo#complete} unset.
+    */
+   public static NgfxHelpInfo parse(Path ngfxExe, Collection<String> activities) {
+      try (LaunchTrace.Phase phase = LaunchTrace.phase("ngfx-help-parse")) {
+         phase.attr("ngfx", ngfxExe);
+         NgfxHelpInfo info = run(ngfxExe, activities);
+         phase.attr("complete", info.complete).attr("activities", info.activities.size()).attr("gpuTraceOptions", info.gpuTraceOptions.size());
+         if (!info.complete) {
+            phase.fail("incomplete output");
+         }
+         return info;
+      }
    }
 
-   private static List<String> runHelpAll(Path ngfxExe) {
+   private static NgfxHelpInfo run(Path ngfxExe, Collection<String> activities) {
+      long timeoutMs = Long.getLong("debugger.helpTimeout", DEFAULT_TIMEOUT_MS);
+      long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+
+      Process process;
       try {
          ProcessBuilder pb = new ProcessBuilder(ngfxExe.toAbsolutePath().toString(), "--help-all");
          pb.redirectErrorStream(true);
-         Process process = pb.start();
-
-         List<String> lines = new ArrayList<>();
-         try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-               lines.add(line);
-            }
-         }
-
-         if (!process.waitFor(5, TimeUnit.SECONDS)) {
-            process.destroyForcibly();
-            GfxDebuggers.LOGGER.warn("ngfx --help-all timed out");
-            return null;
-         }
-
-         return lines;
+         process = pb.start();
       } catch (Exception e) {
          GfxDebuggers.LOGGER.warn("Failed to run ngfx --help-all: {}", e.getMessage());
-         return null;
+         return NgfxHelpInfo.empty();
       }
-   }
-
-   private static List<String> parsePlatforms(List<String> lines) {
-      List<String> platforms = new ArrayList<>();
-      boolean inPlatformDesc = false;
 
-      for (int i = 0; i < lines.size(); i++) {
-         String line = lines.get(i);
+      StreamingParser parser = new StreamingParser();
+      FutureTask<Boolean> reading = new FutureTask<>(() -> read(process, parser, activities));
+      Thread reader = new Thread(reading, "gfx-debuggers-help-reader");
+      reader.setDaemon(true);
+      reader.start();
 
-         if (line.stripLeading().startsWith("--platform ")) {
-            inPlatformDesc = true;
-            continue;
+      try {
+         boolean stoppedEarly = reading.get(remaining(deadline), TimeUnit.NANOSECONDS);
+         if (stoppedEarly) {
+            destroyTree(process);
+            synchronized (parser) {
+               return parser.finishEarly();
+            }
          }
-
-         if (inPlatformDesc) {
-            String stripped = line.strip();
-            if (stripped.isEmpty()) {
-               continue;
+         if (!process.waitFor(remaining(deadline), TimeUnit.NANOSECONDS)) {
+            // All output is in, only the exit is hanging. Without an exit code there's no telling it went well.
+            GfxDebuggers.LOGGER.warn("ngfx --help-all did not exit within {} ms, killing it and using its output for this launch only", timeoutMs);
+            destroyTree(process);
+            synchronized (parser) {
+               return parser.finish(false);
             }
-            if (line.startsWith("  --") || SECTION_HEADER.matcher(line).matches()) {
-               break;
+         } else if (process.exitValue() != 0) {
+            // The output may have been cut short by whatever went wrong
+            GfxDebuggers.LOGGER.warn("ngfx --help-all exited with code {}, using its output for this launch only", process.exitValue());
+            synchronized (parser) {
+               return parser.finish(false);
             }
-            if (!stripped.startsWith("Target platform") && !stripped.startsWith("of:")) {
-               platforms.add(stripped);
+         }
+         synchronized (parser) {
+            return parser.finish(true);
+         }
+      } catch (TimeoutException e) {
+         GfxDebuggers.LOGGER.warn("ngfx --help-all did not finish within {} ms, killing it and using partial output", timeoutMs);
+      } catch (ExecutionException e) {
+         GfxDebuggers.LOGGER.warn("Failed to read ngfx --help-all output: {}", e.getCause().getMessage());
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+
+      destroyTree(process);
+      synchronized (parser) {
+         return parser.finish(false);
+      }
+   }
+
+   private static boolean read(Process process, StreamingParser parser, Collection<String> activities) throws IOException {
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+         String line;
+         while ((line = reader.readLine()) != null) {
+            synchronized (parser) {
+               if (parser.finished) {
+                  return false;
+               }
+               parser.accept(line);
+               if (activities != null && parser.isSatisfied(activities)) {
+                  return true;
+               }
             }
          }
       }
+      return false;
+   }
 
-      return platforms;
+   private static void destroyTree(Process process) {
+      process.descendants().forEach(ProcessHandle::destroyForcibly);
+      process.destroyForcibly();
    }
 
-   private static List<String> parseActivities(List<String> lines) {
-      List<String> activities = new ArrayList<>();
-      boolean inActivityDesc = false;
+   private static long remaining(long deadline) {
+      return Math.max(0, deadline - System.nanoTime());
+   }
+
+   static NgfxHelpInfo parse(BufferedReader reader) throws IOException {
+      StreamingParser parser = new StreamingParser();
+      String line;
+      while ((line = reader.readLine()) != null) {
+         parser.accept(line);
+      }
+      return parser.finish(true);
+   }
 
-      for (int i = 0; i < lines.size(); i++) {
-         String line = lines.get(i);
+   /**
+    * Single-pass state machine over {@code ngfx --help-all} output. Lines are fed as they arrive; the platform and
+    * activity lists and the options of every "&lt;activity&gt; activity options" section are collected on the way.
+    */
+   static final class StreamingParser {
+
+      private final ValueList platforms = new ValueList("--platform ", "Target platform");
+      private final ValueList activities = new ValueList("--activity ", "Target activity");
+      private final Map<String, List<NgfxOption>> activityOptions = new LinkedHashMap<>();
+
+      private List<NgfxOption> sectionOptions;
+
+      private String optFlag;
+      private boolean optTakesValue;
+      private String optDefault;
+      private final List<String> optDescLines = new ArrayList<>();
+
+      boolean finished;
+
+      void accept(String line) {
+         boolean header = isSectionHeader(line);
+         platforms.accept(line, header);
+         activities.accept(line, header);
+
+         if (header) {
+            flushOption();
+            String name = line.strip();
+            name = name.substring(0, name.length() - 1).strip();
+            if (name.regionMatches(true, name.length() - ACTIVITY_SECTION_SUFFIX.length(), ACTIVITY_SECTION_SUFFIX, 0, ACTIVITY_SECTION_SUFFIX.length())) {
+               String activity = name.substring(0, name.length() - ACTIVITY_SECTION_SUFFIX.length());
+               sectionOptions = activityOptions.computeIfAbsent(activity, k -> new ArrayList<>());
+            } else {
+               sectionOptions = null;
+            }
+            return;
+         }
 
-         if (line.stripLeading().startsWith("--activity ")) {
-            inActivityDesc = true;
-            continue;
+         if (sectionOptions == null || line.isEmpty()) {
+            return;
          }
 
-         if (inActivityDesc) {
+         if (line.startsWith("  --")) {
+            flushOption();
+            parseOptionLine(line);
+         } else if (optFlag != null) {
             String stripped = line.strip();
-            if (stripped.isEmpty()) {
-               continue;
-            }
-            if (line.startsWith("  --") || SECTION_HEADER.matcher(line).matches()) {
-               break;
-            }
-            if (!stripped.startsWith("Target activity") && !stripped.startsWith("of:")) {
-               activities.add(stripped);
+            if (!stripped.isEmpty()) {
+               optDescLines.add(stripped);
             }
          }
       }
 
-      return activities;
-   }
+      NgfxHelpInfo finish(boolean complete) {
+         flushOption();
+         sectionOptions = null;
+         finished = true;
+         return new NgfxHelpInfo(List.copyOf(platforms.values), List.copyOf(activities.values), activityOptions, complete);
+      }
 
-   private static List<NgfxOption> parseActivityOptions(List<String> lines, String sectionName) {
-      List<NgfxOption> options = new ArrayList<>();
+      /**
+       * Finishes once {@link #isSatisfied} holds. The section that was open at that point was cut short, so it is
+       * dropped rather than returned as if it were whole.
+       */
+      NgfxHelpInfo finishEarly() {
+         List<NgfxOption> open = sectionOptions;
+         activityOptions.values().removeIf(options -> options == open);
+         sectionOptions = null;
+         optFlag = null;
+         optDescLines.clear();
+         return finish(true);
+      }
 
-      int sectionStart = -1;
-      for (int i = 0; i < lines.size(); i++) {
-         String line = lines.get(i);
-         if (line.strip().equalsIgnoreCase(sectionName + ":")) {
-            sectionStart = i + 1;
-            break;
+      boolean isSatisfied(Collection<String> wantedActivities) {
+         if (!arePlatformsComplete() || !areActivitiesComplete()) {
+            return false;
+         }
+         for (String activity : wantedActivities) {
+            if (!isSectionComplete(activity)) {
+               return false;
+            }
          }
+         return true;
       }
 
-      if (sectionStart < 0) {
-         return options;
+      /** Whether the options of {@code activity} are fully known, i.e. its section has been closed by another. */
+      boolean isSectionComplete(String activity) {
+         for (Map.Entry<String, List<NgfxOption>> entry : activityOptions.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(activity)) {
+               return entry.getValue() != sectionOptions;
+            }
+         }
+         return false;
       }
 
-      int i = sectionStart;
-      while (i < lines.size()) {
-         String line = lines.get(i);
-
-         if (!line.isEmpty() && !line.startsWith(" ") && SECTION_HEADER.matcher(line).matches()) {
-            break;
-         }
+      boolean arePlatformsComplete() {
+         return platforms.state == ValueList.DONE;
+      }
 
-         Matcher m = OPTION_LINE.matcher(line);
-         if (m.matches()) {
-            String flag = m.group(1);
-            String defaultVal = m.group(2);
-            boolean takesValue = line.contains(flag + " arg");
-            String descPart = m.group(3) != null ? m.group(3).strip() : "";
+      boolean areActivitiesComplete() {
+         return activities.state == ValueList.DONE;
+      }
 
-            List<String> descLines = new ArrayList<>();
-            if (!descPart.isEmpty()) {
-               descLines.add(descPart);
-            }
+      // Equivalent to "  (--[a-zA-Z0-9][a-zA-Z0-9_-]*)(?:\s+arg)?(?:\s+\(=(.+?)\))?\s*(.*)"
+      private void parseOptionLine(String line) {
+         int len = line.length();
+         int i = 4;
+         if (i >= len || !isAsciiAlnum(line.charAt(i))) {
+            return;
+         }
+         while (i < len && (isAsciiAlnum(line.charAt(i)) || line.charAt(i) == '_' || line.charAt(i) == '-')) {
             i++;
-            while (i < lines.size()) {
-               String next = lines.get(i);
-               if (next.isEmpty()) {
-                  i++;
-                  continue;
-               }
-               if (next.startsWith("  --") || (!next.startsWith(" ") && SECTION_HEADER.matcher(next).matches())) {
-                  break;
-               }
-               String stripped = next.strip();
-               if (!stripped.isEmpty()) {
-                  descLines.add(stripped);
-               }
-               i++;
+         }
+         optFlag = line.substring(2, i);
+         optTakesValue = false;
+         optDefault = null;
+
+         int afterSpace = skipWhitespace(line, i);
+         if (afterSpace > i && line.startsWith("arg", afterSpace) && (afterSpace + 3 == len || Character.isWhitespace(line.charAt(afterSpace + 3)))) {
+            optTakesValue = true;
+            i = afterSpace + 3;
+            afterSpace = skipWhitespace(line, i);
+         }
+         if (afterSpace > i && line.startsWith("(=", afterSpace)) {
+            int close = line.indexOf(')', afterSpace + 3);
+            if (close > 0) {
+               optDefault = line.substring(afterSpace + 2, close);
+               i = close + 1;
             }
+         }
+
+         String descPart = line.substring(i).strip();
+         if (!descPart.isEmpty()) {
+            optDescLines.add(descPart);
+         }
+      }
 
-            String description = String.join(" ", descLines);
-            boolean deprecated = description.toLowerCase().contains("deprecated");
-            boolean booleanArg = takesValue && defaultVal != null && (defaultVal.equals("0") || defaultVal.equals("1"));
-            List<String> choices = parseChoices(descLines);
+      private void flushOption() {
+         if (optFlag == null) {
+            return;
+         }
 
-            options.add(new NgfxOption(flag, takesValue, defaultVal, description, deprecated, booleanArg, choices));
-         } else {
-            i++;
+         String description = String.join(" ", optDescLines);
+         boolean deprecated = description.toLowerCase().contains("deprecated");
+         boolean booleanArg = optTakesValue && optDefault != null && (optDefault.equals("0") || optDefault.equals("1"));
+
+         List<String> choices = new ArrayList<>();
+         for (String desc : optDescLines) {
+            if (desc.length() > 1 && desc.charAt(0) == '-' && Character.isWhitespace(desc.charAt(1))) {
+               String choice = desc.substring(1).strip();
+               if (!choice.isEmpty()) {
+                  choices.add(choice);
+               }
+            }
          }
+
+         sectionOptions.add(new NgfxOption(optFlag, optTakesValue, optDefault, description, deprecated, booleanArg, choices));
+         optFlag = null;
+         optDescLines.clear();
       }
+   }
+
+   /** Collects the value lines that follow a {@code --platform} / {@code --activity} option. */
+   private static final class ValueList {
 
-      return options;
+      static final int WAITING = 0;
+      static final int ACTIVE = 1;
+      static final int DONE = 2;
+
+      final String trigger;
+      final String descriptionPrefix;
+      final List<String> values = new ArrayList<>();
+      int state = WAITING;
+
+      ValueList(String trigger, String descriptionPrefix) {
+         this.trigger = trigger;
+         this.descriptionPrefix = descriptionPrefix;
       }
 
-      private static final Pattern DASH_CHOICE = Pattern.compile("^-\\s+(.+)$");
+      void accept(String line, boolean header) {
+         if (state == DONE) {
+            return;
+         }
+         if (line.stripLeading().startsWith(trigger)) {
+            state = ACTIVE;
+            return;
+         }
+         if (state != ACTIVE) {
+            return;
+         }
 
-      private static List<String> parseChoices(List<String> descLines) {
-      List<String> choices = new ArrayList<>();
-      for (String line : descLines) {
-         Matcher m = DASH_CHOICE.matcher(line);
-         if (m.matches()) {
-            choices.add(m.group(1).strip());
+         String stripped = line.strip();
+         if (stripped.isEmpty()) {
+            return;
          }
+         if (header || line.startsWith("  --")) {
+            state = DONE;
+            return;
+         }
+         if (!stripped.startsWith(descriptionPrefix) && !stripped.startsWith("of:")) {
+            values.add(stripped);
+         }
+      }
+   }
+
+   // Equivalent to "(\S.+?):\s*"
+   private static boolean isSectionHeader(String line) {
+      if (line.isEmpty() || Character.isWhitespace(line.charAt(0))) {
+         return false;
       }
-      return choices;
+      int end = line.length();
+      while (end > 0 && Character.isWhitespace(line.charAt(end - 1))) {
+         end--;
       }
+      return end >= 3 && line.charAt(end - 1) == ':';
+   }
+
+   private static int skipWhitespace(String line, int i) {
+      while (i < line.length() && Character.isWhitespace(line.charAt(i))) {
+         i++;
       }
+      return i;
+   }
+
+   private static boolean isAsciiAlnum(char c) {
+      return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+   }
+}
@@ -6,7 +6,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 import java.util.stream.Stream;
 
 public class NgfxLocator {
@@ -15,25 +17,58 @@ public class NgfxLocator {
    private static final String HOST_DIR = IS_LINUX ? "linux-desktop-nomad-x64" : "windows-desktop-nomad-x64";
 
    public static Path findNgfxExecutable() {
+      List<ProbeEngine.Candidate<Path>> candidates = new ArrayList<>();
+
       String propPath = System.getProperty("ngfx.path");
       if (propPath != null) {
-         Path resolved = resolveNgfx(propPath);
-         if (resolved != null) {
-            return resolved;
-         }
-         GfxDebuggers.LOGGER.warn("ngfx.path system property set to '{}' but ngfx executable was not found there.", propPath);
+         candidates.add(
+            new ProbeEngine.Candidate<>("ngfx.path " + propPath, () -> resolveNgfx(propPath), () ->
+               GfxDebuggers.LOGGER.warn("ngfx.path system property set to '{}' but ngfx executable was not found there.", propPath)
+            )
+         );
       }
 
       String envPath = System.getenv("NGFX_PATH");
       if (envPath != null) {
-         Path resolved = resolveNgfx(envPath);
-         if (resolved != null) {
-            return resolved;
+         candidates.add(
+            new ProbeEngine.Candidate<>("NGFX_PATH " + envPath, () -> resolveNgfx(envPath), () ->
+               GfxDebuggers.LOGGER.warn("NGFX_PATH env var set to '{}' but ngfx executable was not found there.", envPath)
+            )
+         );
+      }
+
+      if (IS_LINUX) {
+         candidates.add(new ProbeEngine.Candidate<>("~/nvidia", NgfxLocator::findNgfxLinux));
+      } else {
+         for (Path nvCorp : windowsInstallRoots()) {
+            candidates.add(new ProbeEngine.Candidate<>(nvCorp.toString(), () -> Files.isDirectory(nvCorp) ? searchNgfxWindows(nvCorp) : null));
          }
-         GfxDebuggers.LOGGER.warn("NGFX_PATH env var set to '{}' but ngfx executable was not found there.", envPath);
       }
 
-      return IS_LINUX ? findNgfxLinux() : findNgfxWindows();
+      return ProbeEngine.firstHit(candidates);
+   }
+
+   /**
+    * Directories whose contents decide the result of {@link #findNgfxExecutable()}.
+    * Used by {@link DiscoveryCache} to tell whether a previous scan is still valid.
+    */
+   static List<Path> searchDirs() {
+      List<Path> dirs = new ArrayList<>();
+      String propPath = System.getProperty("ngfx.path");
+      if (propPath != null) {
+         dirs.add(Paths.get(propPath));
+      }
+      String envPath = System.getenv("NGFX_PATH");
+      if (envPath != null) {
+         dirs.add(Paths.get(envPath));
+      }
+
+      if (IS_LINUX) {
+         dirs.add(Paths.get(System.getProperty("user.home"), "nvidia"));
+      } else {
+         dirs.addAll(windowsInstallRoots());
+      }
+      return dirs;
    }
 
    private static Path resolveNgfx(String pathStr) {
@@ -77,28 +112,19 @@ public class NgfxLocator {
       }
    }
 
-   private static Path findNgfxWindows() {
+   private static List<Path> windowsInstallRoots() {
+      List<Path> roots = new ArrayList<>();
       String programFiles = System.getenv("ProgramFiles");
       if (programFiles == null) {
          programFiles = "C:\\Program Files";
       }
-
-      Path nvCorp = Paths.get(programFiles, "NVIDIA Corporation");
-      if (Files.isDirectory(nvCorp)) {
-         Path found = searchNgfxWindows(nvCorp);
-         if (found != null) return found;
-      }
+      roots.add(Paths.get(programFiles, "NVIDIA Corporation"));
 
       String programFilesX86 = System.getenv("ProgramFiles(x86)");
       if (programFilesX86 != null) {
-         Path nvCorpX86 = Paths.get(programFilesX86, "NVIDIA Corporation");
-         if (Files.isDirectory(nvCorpX86)) {
-            Path found = searchNgfxWindows(nvCorpX86);
-            if (found != null) return found;
-         }
+         roots.add(Paths.get(programFilesX86, "NVIDIA Corporation"));
       }
-
-      return null;
+      return roots;
    }
 
    private static Path searchNgfxWindows(Path nvCorp) {
@@ -0,0 +1,139 @@
+package dev.xirreal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Option schemas for known NSight Graphics versions, compiled from captured {@code ngfx --help-all} transcripts at
+ * build time (see the {@code bundleNgfxSchemas} Gradle task) and shipped inside the mod jar. When the install
+ * directory of the detected ngfx matches a bundled version, its options are available without running ngfx at all.
+ */
+public final class NgfxSchemaBundle {
+
+   static final String RESOURCE = "/assets/gfx-debuggers/ngfx-schemas.bin";
+
+   private static final int MAGIC = 0x4e534348; // "NSCH"
+   private static final String LINUX_DIR_PREFIX = "NVIDIA-Nsight-Graphics-";
+   private static final String WINDOWS_DIR_PREFIX = "Nsight Graphics ";
+
+   private NgfxSchemaBundle() {}
+
+   /**
+    * Returns the bundled schema for the NSight install containing {@code ngfxExe}, or null if its version is not
+    * bundled or cannot be told from the install directory name.
+    */
+   public static NgfxHelpInfo find(Path ngfxExe) {
+      return find(ngfxExe, Schemas.BY_VERSION);
+   }
+
+   static NgfxHelpInfo find(Path ngfxExe, Map<String, NgfxHelpInfo> schemas) {
+      String version = detectVersion(ngfxExe);
+      return version != null ? schemas.get(version) : null;
+   }
+
+   /** Decompressed and decoded once, on the first lookup. */
+   private static final class Schemas {
+
+      static final Map<String, NgfxHelpInfo> BY_VERSION = load();
+
+      private static Map<String, NgfxHelpInfo> load() {
+         try (InputStream raw = NgfxSchemaBundle.class.getResourceAsStream(RESOURCE)) {
+            if (raw != null) {
+               return read(raw);
+            }
+         } catch (IOException e) {
+            GfxDebuggers.LOGGER.warn("Could not read bundled ngfx schemas: {}", e.getMessage());
+         }
+         return Map.of();
+      }
+   }
+
+   /** Decodes a bundle written by {@link #main}, empty if it was written by an incompatible version. */
+   static Map<String, NgfxHelpInfo> read(InputStream raw) throws IOException {
+      Map<String, NgfxHelpInfo> schemas = new HashMap<>();
+      DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(raw)));
+      if (in.readInt() != MAGIC || in.readInt() != NgfxHelpCodec.VERSION) {
+         return schemas;
+      }
+      int count = in.readInt();
+      for (int i = 0; i < count; i++) {
+         String version = in.readUTF();
+         schemas.put(version, NgfxHelpCodec.read(in));
+      }
+      return schemas;
+   }
+
+   /**
+    * Extracts the version from the install directory, e.g. "2025.5" from {@code NVIDIA-Nsight-Graphics-2025.5} on
+    * Linux or {@code Nsight Graphics 2025.5} on Windows.
+    */
+   static String detectVersion(Path ngfxExe) {
+      for (Path dir = ngfxExe.toAbsolutePath().getParent(); dir != null; dir = dir.getParent()) {
+         Path fileName = dir.getFileName();
+         if (fileName == null) {
+            break;
+         }
+         String name = fileName.toString();
+         if (name.startsWith(LINUX_DIR_PREFIX)) {
+            return name.substring(LINUX_DIR_PREFIX.length()).strip();
+         }
+         if (name.startsWith(WINDOWS_DIR_PREFIX)) {
+            return name.substring(WINDOWS_DIR_PREFIX.length()).strip();
+         }
+      }
+      return null;
+   }
+
+   /**
+    * Build-time entry point: compiles every {@code <version>.txt} transcript in {@code args[0]} into the bundle
+    * written to {@code args[1]}.
+    */
+   public static void main(String[] args) throws IOException {
+      Path inputDir = Paths.get(args[0]);
+      Path output = Paths.get(args[1]);
+
+      List<Path> transcripts = new ArrayList<>();
+      if (Files.isDirectory(inputDir)) {
+         try (Stream<Path> files = Files.list(inputDir)) {
+            files.filter(p -> p.getFileName().toString().endsWith(".txt")).sorted().forEach(transcripts::add);
+         }
+      }
+
+      Files.createDirectories(output.toAbsolutePath().getParent());
+      try (OutputStream raw = Files.newOutputStream(output); DataOutputStream out = new DataOutputStream(new GZIPOutputStream(raw))) {
+         out.writeInt(MAGIC);
+         out.writeInt(NgfxHelpCodec.VERSION);
+         out.writeInt(transcripts.size());
+         for (Path transcript : transcripts) {
+            String name = transcript.getFileName().toString();
+            String version = name.substring(0, name.length() - ".txt".length());
+            NgfxHelpInfo info;
+            try (BufferedReader reader = Files.newBufferedReader(transcript, StandardCharsets.UTF_8)) {
+               info = NgfxHelpParser.parse(reader);
+            }
+            if (info.platforms.isEmpty() || info.activities.isEmpty()) {
+               throw new IOException(transcript + " does not look like ngfx --help-all output");
+            }
+            out.writeUTF(version);
+            NgfxHelpCodec.write(out, info);
+            System.out.println("Bundled ngfx schema " + version + " (" + info.gpuTraceOptions.size() + " GPU Trace options)");
+         }
+      }
+   }
+}
@@ -0,0 +1,171 @@
+package dev.xirreal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+/**
+ * Manifest-only JAR whose {@code Class-Path} lists the real classpath, so a relaunch only has to pass one short
+ * {@code -cp} entry. Jars are cached in the data dir under the hash of the canonical entry list and only rewritten
+ * when it changes.
+ *
+ * In a normal install this mod is loaded by Knot from the mods folder, not from the launcher's classpath, so the jar
+ * holding {@link PathingJarMain} is appended to the {@code Class-Path} and named in {@link #BOOTSTRAP_ENTRY}, which
+ * {@link PathingJarMain} leaves out again when it restores {@code java.class.path}.
+ */
+final class PathingJar {
+
+   /** Manifest attribute naming the entry that was only added so the JVM finds {@link PathingJarMain}. */
+   static final Attributes.Name BOOTSTRAP_ENTRY = new Attributes.Name("Gfx-Debuggers-Bootstrap");
+
+   private static final String DIR = "pathing";
+   private static final String PREFIX = "classpath-";
+   private static final String USED_SUFFIX = ".used";
+   private static final long MAX_AGE_MS = TimeUnit.DAYS.toMillis(7);
+
+   private PathingJar() {}
+
+   static boolean enabled() {
+      return Boolean.getBoolean("debugger.pathingJar");
+   }
+
+   /** Returns the pathing jar for {@code classPath}, writing it first if no jar for this exact classpath exists. */
+   static Path forClassPath(String classPath) throws IOException {
+      List<Path> entries = canonicalEntries(classPath);
+      StringBuilder manifestClassPath = new StringBuilder();
+      for (Path entry : entries) {
+         if (manifestClassPath.length() > 0) {
+            manifestClassPath.append(' ');
+         }
+         // Absolute file: URIs, with a trailing slash for directories
+         manifestClassPath.append(entry.toUri().toASCIIString());
+      }
+      Path self = ownCodeSource();
+      String bootstrap = null;
+      if (!entries.contains(self)) {
+         bootstrap = self.toUri().toASCIIString();
+         if (manifestClassPath.length() > 0) {
+            manifestClassPath.append(' ');
+         }
+         manifestClassPath.append(bootstrap);
+      }
+
+      Path dir = PlatformUtils.getDataDir().resolve(DIR);
+      Path jar = dir.resolve(PREFIX + hash(manifestClassPath.toString()) + ".jar");
+      if (Files.isRegularFile(jar)) {
+         GfxDebuggers.LOGGER.debug("Reusing pathing jar {}", jar);
+         markUsed(jar);
+         return jar;
+      }
+
+      Manifest manifest = new Manifest();
+      manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+      manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, manifestClassPath.toString());
+      if (bootstrap != null) {
+         manifest.getMainAttributes().put(BOOTSTRAP_ENTRY, bootstrap);
+      }
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      // Manifest only, closing writes it out
+      new JarOutputStream(bytes, manifest).close();
+
+      Files.createDirectories(dir);
+      PlatformUtils.writeAtomically(jar, bytes.toByteArray());
+      markUsed(jar);
+      deleteOthers(dir, jar);
+      GfxDebuggers.LOGGER.info("Wrote pathing jar {} for {} classpath entries", jar, entries.size());
+      return jar;
+   }
+
+   /** Splits the classpath, resolves every existing entry to its real path and drops duplicates and missing entries. */
+   static List<Path> canonicalEntries(String classPath) {
+      Set<Path> entries = new LinkedHashSet<>();
+      for (String entry : classPath.split(File.pathSeparator)) {
+         if (entry.isEmpty()) {
+            continue;
+         }
+         try {
+            entries.add(Paths.get(entry).toRealPath());
+         } catch (IOException | RuntimeException e) {
+            // Missing entries contribute nothing to the classpath anyway
+         }
+      }
+      return new ArrayList<>(entries);
+   }
+
+   /** The jar or directory this mod's classes were loaded from, resolved like the classpath entries. */
+   static Path ownCodeSource() throws IOException {
+      CodeSource source = PathingJarMain.class.getProtectionDomain().getCodeSource();
+      try {
+         return Paths.get(source.getLocation().toURI()).toRealPath();
+      } catch (URISyntaxException | RuntimeException e) {
+         throw new IOException("Could not locate the mod's own jar from " + (source != null ? source.getLocation() : "no code source"), e);
+      }
+   }
+
+   static String hash(String value) {
+      try {
+         byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+         StringBuilder sb = new StringBuilder();
+         for (int i = 0; i < 8; i++) {
+            sb.append(String.format("%02x", digest[i]));
+         }
+         return sb.toString();
+      } catch (NoSuchAlgorithmException e) {
+         throw new IllegalStateException(e);
+      }
+   }
+
+   /**
+    * Touches a marker next to the jar. The jar itself is left alone, since its mtime is part of the CDS archive's
+    * classpath check.
+    */
+   private static void markUsed(Path jar) throws IOException {
+      Files.write(usedMarker(jar), new byte[0]);
+   }
+
+   private static Path usedMarker(Path jar) {
+      return jar.resolveSibling(jar.getFileName() + USED_SUFFIX);
+   }
+
+   /**
+    * Deletes jars that no launch has used for {@link #MAX_AGE_MS}. Other game instances, e.g. with another mod set,
+    * share the directory, so their jars have to survive until they are clearly abandoned.
+    */
+   static void deleteOthers(Path dir, Path keep) {
+      long cutoff = System.currentTimeMillis() - MAX_AGE_MS;
+      try (Stream<Path> files = Files.list(dir)) {
+         files.filter(p -> !p.equals(keep) && p.getFileName().toString().startsWith(PREFIX) && p.getFileName().toString().endsWith(".jar")).forEach(p -> {
+            try {
+               Path marker = usedMarker(p);
+               long lastUsed = Files.getLastModifiedTime(p).toMillis();
+               if (Files.exists(marker)) {
+                  lastUsed = Math.max(lastUsed, Files.getLastModifiedTime(marker).toMillis());
+               }
+               if (lastUsed < cutoff) {
+                  Files.deleteIfExists(p);
+                  Files.deleteIfExists(marker);
+               }
+            } catch (IOException ignored) {
+               // Still in use by a running game on Windows, retried on the next rewrite
+            }
+         });
+      } catch (IOException ignored) {}
+   }
+}
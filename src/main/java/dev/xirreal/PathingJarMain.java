@@ -0,0 +1,54 @@
+package dev.xirreal;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * Main class of a game relaunched through a {@link PathingJar}. Fabric reads {@code java.class.path} to find the
+ * game and the mods, which would only contain the pathing jar, so the manifest's {@code Class-Path} is expanded
+ * back into it before Knot starts, without the entry that was only added to find this class.
+ */
+public final class PathingJarMain {
+
+   private PathingJarMain() {}
+
+   public static void main(String[] args) throws Throwable {
+      Path pathingJar = Paths.get(System.getProperty("java.class.path"));
+      StringBuilder classPath = new StringBuilder();
+      try (JarFile jar = new JarFile(pathingJar.toFile())) {
+         Manifest manifest = jar.getManifest();
+         String entries = manifest != null ? manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH) : null;
+         if (entries == null) {
+            throw new IllegalStateException(pathingJar + " has no Class-Path in its manifest");
+         }
+         // This mod's own jar, which Knot loads from the mods folder, not from the classpath
+         String bootstrap = manifest.getMainAttributes().getValue(PathingJar.BOOTSTRAP_ENTRY);
+         for (String entry : entries.split(" ")) {
+            if (entry.isEmpty() || entry.equals(bootstrap)) {
+               continue;
+            }
+            if (classPath.length() > 0) {
+               classPath.append(File.pathSeparatorChar);
+            }
+            classPath.append(Paths.get(pathingJar.toUri().resolve(new URI(entry))));
+         }
+      } catch (IOException | URISyntaxException e) {
+         throw new IllegalStateException("Could not read the Class-Path of " + pathingJar, e);
+      }
+      System.setProperty("java.class.path", classPath.toString());
+
+      try {
+         Class.forName(RelaunchCommandLine.KNOT_CLIENT).getMethod("main", String[].class).invoke(null, (Object) args);
+      } catch (InvocationTargetException e) {
+         throw e.getCause();
+      }
+   }
+}
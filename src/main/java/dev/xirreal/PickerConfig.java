@@ -0,0 +1,82 @@
+package dev.xirreal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/** The picker's saved settings, kept apart from {@link DebuggerPicker} so {@code -Ddebugger=last} never loads Swing. */
+final class PickerConfig {
+
+   /** Seconds the window picker counts down before launching the last used debugger, overridden by {@code -Ddebugger.autoLaunch}. */
+   static final String AUTO_LAUNCH = "autoLaunch";
+
+   // Shared with the profile store, in the data directory
+   static final String LOCK_FILE = "settings.lock";
+
+   private PickerConfig() {}
+
+   private static Path getConfigPath() {
+      return PlatformUtils.getConfigDir().resolve("gfx-debuggers.properties");
+   }
+
+   static Properties load() {
+      try {
+         return read(getConfigPath());
+      } catch (IOException e) {
+         GfxDebuggers.LOGGER.warn("Could not read picker settings: {}", e.toString());
+         return new Properties();
+      }
+   }
+
+   private static Properties read(Path path) throws IOException {
+      Properties props = new Properties();
+      if (Files.exists(path)) {
+         try (InputStream in = Files.newInputStream(path)) {
+            props.load(in);
+         }
+      }
+      return props;
+   }
+
+   /** The auto-launch countdown in seconds, 0 if the picker should wait for a choice. */
+   static int autoLaunchSeconds(Properties saved) {
+      String value = System.getProperty("debugger.autoLaunch", saved.getProperty(AUTO_LAUNCH, "0"));
+      try {
+         return Math.max(0, Integer.parseInt(value.strip()));
+      } catch (NumberFormatException e) {
+         GfxDebuggers.LOGGER.warn("Ignoring invalid auto-launch countdown: {}", value);
+         return 0;
+      }
+   }
+
+   /**
+    * Writes the picker's choice in one atomic move, so a crash or a second instance never leaves half a file. The file
+    * is re-read under the lock and only the keys the picker owns are replaced, so hand-edited settings such as
+    * {@link #AUTO_LAUNCH} survive every pick, even ones edited while the picker was open.
+    */
+   static void save(Properties props) {
+      try {
+         Path path = getConfigPath();
+         PlatformUtils.withFileLock(LOCK_FILE, () -> {
+            // A file that can't be read is left alone rather than replaced by just the pick
+            Properties merged = read(path);
+            merged.stringPropertyNames().stream().filter(PickerConfig::isPickerKey).forEach(merged::remove);
+            merged.putAll(props);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            merged.store(out, "gfx-debuggers settings");
+            PlatformUtils.writeAtomically(path, out.toByteArray());
+         });
+      } catch (IOException e) {
+         GfxDebuggers.LOGGER.warn("Could not save picker settings: {}", e.toString());
+      }
+   }
+
+   // A pick replaces all of these, so options of an earlier GPU Trace launch never leak into a Frame Debugger one
+   private static boolean isPickerKey(String key) {
+      return key.equals("debugger") || key.equals("platform") || key.startsWith("opt.");
+   }
+}
@@ -0,0 +1,156 @@
+package dev.xirreal;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import javax.imageio.ImageIO;
+
+/**
+ * The picker's icons, already masked to rounded squares at build time (see the {@code bakePickerIcons} Gradle task)
+ * and stored as raw ARGB pixels, so showing them needs neither ImageIO nor any compositing. They are loaded on a
+ * background thread; the picker paints placeholders until they arrive.
+ */
+public final class PickerIcons {
+
+   static final String RESOURCE = "/assets/gfx-debuggers/picker-icons.bin";
+   static final String WINDOW_ICON = "icon";
+   static final String[] CARD_ICONS = { "gpu-trace", "frame-debugger", "renderdoc" };
+   static final int CARD_SIZE = 32;
+
+   private static final int MAGIC = 0x5049434e; // "PICN"
+   private static final int VERSION = 1;
+
+   private static CompletableFuture<Map<String, BufferedImage>> icons;
+
+   private PickerIcons() {}
+
+   /** Starts loading the icons if that has not happened yet. Safe to call from any thread. */
+   static synchronized CompletableFuture<Map<String, BufferedImage>> load() {
+      if (icons == null) {
+         icons = new CompletableFuture<>();
+         Thread thread = new Thread(
+            () -> {
+               try {
+                  icons.complete(read());
+               } catch (Throwable e) {
+                  GfxDebuggers.LOGGER.warn("Could not load picker icons: {}", e.toString());
+                  icons.complete(Map.of());
+               }
+            },
+            "gfx-debuggers-icons"
+         );
+         thread.setDaemon(true);
+         thread.start();
+      }
+      return icons;
+   }
+
+   private static Map<String, BufferedImage> read() throws IOException {
+      try (InputStream raw = PickerIcons.class.getResourceAsStream(RESOURCE)) {
+         if (raw != null) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(raw));
+            if (in.readInt() == MAGIC && in.readInt() == VERSION) {
+               Map<String, BufferedImage> result = new HashMap<>();
+               int count = in.readInt();
+               for (int i = 0; i < count; i++) {
+                  String name = in.readUTF();
+                  int width = in.readInt();
+                  int height = in.readInt();
+                  byte[] bytes = new byte[width * height * 4];
+                  in.readFully(bytes);
+                  int[] pixels = new int[width * height];
+                  ByteBuffer.wrap(bytes).asIntBuffer().get(pixels);
+                  BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+                  image.setRGB(0, 0, width, height, pixels, 0, width);
+                  result.put(name, image);
+               }
+               return result;
+            }
+         }
+      }
+
+      // Builds that skipped the bake step still carry the source PNGs
+      GfxDebuggers.LOGGER.debug("No baked picker icons, masking the PNGs at runtime");
+      return renderAll(name -> PickerIcons.class.getResourceAsStream("/assets/gfx-debuggers/" + name + ".png"));
+   }
+
+   private interface Source {
+      InputStream open(String name) throws IOException;
+   }
+
+   private static Map<String, BufferedImage> renderAll(Source source) throws IOException {
+      Map<String, BufferedImage> result = new HashMap<>();
+      BufferedImage window = decode(source, WINDOW_ICON);
+      int size = window.getWidth();
+      result.put(WINDOW_ICON, mask(window, size, size * 0.25f));
+      for (String name : CARD_ICONS) {
+         result.put(name, mask(decode(source, name), CARD_SIZE, 8));
+      }
+      return result;
+   }
+
+   private static BufferedImage decode(Source source, String name) throws IOException {
+      try (InputStream in = source.open(name)) {
+         if (in == null) {
+            throw new IOException("Missing icon " + name);
+         }
+         return ImageIO.read(in);
+      }
+   }
+
+   /** Clips the image to an anti-aliased rounded square of {@code size} pixels. */
+   static BufferedImage mask(BufferedImage raw, int size, float arc) {
+      BufferedImage masked = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D g = masked.createGraphics();
+      g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+      g.setColor(Color.WHITE);
+      g.fill(new RoundRectangle2D.Float(0, 0, size, size, arc, arc));
+      g.setComposite(AlphaComposite.SrcIn);
+      g.drawImage(raw, 0, 0, null);
+      g.dispose();
+      return masked;
+   }
+
+   /** Build-time entry point: masks the PNGs in {@code args[0]} and writes the baked icons to {@code args[1]}. */
+   public static void main(String[] args) throws IOException {
+      Path inputDir = Paths.get(args[0]);
+      Path output = Paths.get(args[1]);
+
+      Map<String, BufferedImage> baked = renderAll(name -> Files.newInputStream(inputDir.resolve(name + ".png")));
+
+      Files.createDirectories(output.toAbsolutePath().getParent());
+      try (OutputStream raw = Files.newOutputStream(output); DataOutputStream out = new DataOutputStream(new BufferedOutputStream(raw))) {
+         out.writeInt(MAGIC);
+         out.writeInt(VERSION);
+         out.writeInt(baked.size());
+         for (Map.Entry<String, BufferedImage> icon : baked.entrySet()) {
+            BufferedImage image = icon.getValue();
+            int[] pixels = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+            out.writeUTF(icon.getKey());
+            out.writeInt(image.getWidth());
+            out.writeInt(image.getHeight());
+            for (int pixel : pixels) {
+               out.writeInt(pixel);
+            }
+            System.out.println("Baked picker icon " + icon.getKey() + " (" + image.getWidth() + "x" + image.getHeight() + ")");
+         }
+      }
+   }
+}
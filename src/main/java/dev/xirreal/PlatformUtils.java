@@ -1,41 +1,37 @@
 package dev.xirreal;
 
-import com.sun.jna.Library;
-import com.sun.jna.Native;
-import com.sun.jna.Pointer;
-import com.sun.jna.StringArray;
 import java.io.*;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import net.fabricmc.loader.api.FabricLoader;
 
 public class PlatformUtils {
 
    public static final boolean IS_LINUX = System.getProperty("os.name").toLowerCase().contains("linux");
    public static final boolean IS_WINDOWS = System.getProperty("os.name").toLowerCase().contains("win");
 
-   public interface LibC extends Library {
-      LibC INSTANCE = Native.load("c", LibC.class);
-      int setenv(String name, String value, int overwrite);
-      int execv(String pathname, StringArray argv);
+   public static boolean isLibraryLoaded(String needle) {
+      return isLibraryLoaded(Paths.get("/proc/self/maps"), needle);
    }
 
-   public static boolean isLibraryLoaded(String needle) {
+   static boolean isLibraryLoaded(Path mapsFile, String needle) {
       try {
-         String maps = Files.readString(Paths.get("/proc/self/maps"));
+         String maps = Files.readString(mapsFile);
          return maps.contains(needle);
       } catch (IOException e) {
          return false;
       }
    }
 
-   public static boolean relaunchWithExtraLD_PRELOAD(String exe, List<String> args, String preloadLib, String markerEnvVar) {
+   public static boolean relaunchWithExtraLD_PRELOAD(String exe, List<String> args, String preloadLib, String markerEnvVar, String debugger) {
       String currentPreload = System.getenv("LD_PRELOAD");
       String newPreload;
       if (currentPreload != null && !currentPreload.isEmpty()) {
@@ -44,19 +40,75 @@ public class PlatformUtils {
          newPreload = preloadLib;
       }
 
-      LibC.INSTANCE.setenv("LD_PRELOAD", newPreload, 1);
-      LibC.INSTANCE.setenv(markerEnvVar, "1", 1);
+      // The child gets its own copy, this process' environment stays as it is should the relaunch fail
+      Map<String, String> env = new LinkedHashMap<>(System.getenv());
+      env.put("LD_PRELOAD", newPreload);
+      String marker = LaunchHandshake.marker();
+      env.put(markerEnvVar, marker);
 
-      GfxDebuggers.LOGGER.info("Replacing process...");
+      LaunchTrace.Phase phase = LaunchTrace.phase("execv");
+      NativeBackend backend = NativeBackend.select();
+      phase.attr("exe", exe).attr("preload", preloadLib).attr("args", args.size());
 
-      StringArray argv = new StringArray(args.toArray(new String[0]));
-      LibC.INSTANCE.execv(exe, argv);
+      GfxDebuggers.LOGGER.info("Replacing process ({})...", backend.name());
 
-      int errno = Native.getLastError();
-      GfxDebuggers.LOGGER.error("execv failed with errno {}", errno);
+      // A successful exec never returns, so the report has to be written before it
+      phase.close();
+      LaunchHandshake.handoff(debugger, marker);
+      LaunchTrace.current().finish();
+      backend.replaceProcess(exe, args, env);
+
+      // Still here, so no child is on its way after all
+      LaunchHandshake.handoffFailed(debugger, marker);
+      phase.fail("relaunch failed");
       return false;
    }
 
+   // Tests point this at a temporary directory instead of the game's config dir
+   static Path dataDirOverride;
+
+   /** The game's config dir, or the parent of {@link #dataDirOverride} when that is set. */
+   static Path getConfigDir() {
+      return dataDirOverride != null ? dataDirOverride.getParent() : FabricLoader.getInstance().getConfigDir();
+   }
+
+   static Path getDataDir() throws IOException {
+      Path dir = dataDirOverride != null ? dataDirOverride : getConfigDir().resolve(GfxDebuggers.MOD_ID);
+      Files.createDirectories(dir);
+      return dir;
+   }
+
+   interface IOAction {
+      void run() throws IOException;
+   }
+
+   /**
+    * Runs {@code action} while holding an exclusive lock on {@code lock} in the data directory, so game instances
+    * launching at the same time take turns on the read-modify-write of a shared file.
+    */
+   static void withFileLock(String lock, IOAction action) throws IOException {
+      Path lockFile = getDataDir().resolve(lock);
+      // Closing the channel releases the lock
+      try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+         channel.lock();
+         action.run();
+      }
+   }
+
+   static void writeAtomically(Path target, byte[] content) throws IOException {
+      Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+      try {
+         Files.write(tmp, content);
+         try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+         } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+         }
+      } finally {
+         Files.deleteIfExists(tmp);
+      }
+   }
+
    static Path writeArgFile(List<String> args) throws IOException {
       Path argFile = Files.createTempFile("gfx-debuggers-", ".args");
 
@@ -0,0 +1,129 @@
+package dev.xirreal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs filesystem probes in parallel with a shared deadline, so a single stalled network mount cannot block
+ * startup. Probes still stuck after the deadline are interrupted and left behind; the pool is unbounded, so a probe
+ * that ignores the interrupt only ties up its own daemon thread and never delays a later probe.
+ */
+final class ProbeEngine {
+
+   private static final long DEFAULT_TIMEOUT_MS = 3000;
+
+   private static final ExecutorService EXECUTOR;
+
+   static {
+      AtomicInteger counter = new AtomicInteger();
+      ThreadFactory factory = r -> {
+         Thread thread = new Thread(r, "gfx-debuggers-probe-" + counter.incrementAndGet());
+         thread.setDaemon(true);
+         return thread;
+      };
+      // Idle threads are reused and exit after a minute, a stuck one is never handed new work
+      EXECUTOR = Executors.newCachedThreadPool(factory);
+   }
+
+   static final class Candidate<T> {
+
+      final String name;
+      final Supplier<T> probe;
+      final Runnable onMiss;
+
+      Candidate(String name, Supplier<T> probe, Runnable onMiss) {
+         this.name = name;
+         this.probe = probe;
+         this.onMiss = onMiss;
+      }
+
+      Candidate(String name, Supplier<T> probe) {
+         this(name, probe, null);
+      }
+   }
+
+   private ProbeEngine() {}
+
+   static long timeoutMillis() {
+      return Long.getLong("debugger.probeTimeout", DEFAULT_TIMEOUT_MS);
+   }
+
+   /**
+    * Starts every candidate at once and returns the first non-null result in list order. A result is returned
+    * as soon as all candidates ahead of it have missed, failed or run out of time; the rest are cancelled.
+    * {@link Candidate#onMiss} runs on the calling thread for every higher-priority candidate that was passed over.
+    */
+   static <T> T firstHit(List<Candidate<T>> candidates) {
+      long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis());
+
+      List<Future<T>> futures = new ArrayList<>(candidates.size());
+      for (Candidate<T> candidate : candidates) {
+         futures.add(EXECUTOR.submit(candidate.probe::get));
+      }
+
+      try {
+         for (int i = 0; i < candidates.size(); i++) {
+            Candidate<T> candidate = candidates.get(i);
+            T result = await(futures.get(i), deadline, candidate.name);
+            if (result != null) {
+               return result;
+            }
+            if (candidate.onMiss != null) {
+               candidate.onMiss.run();
+            }
+         }
+         return null;
+      } finally {
+         for (Future<T> future : futures) {
+            future.cancel(true);
+         }
+      }
+   }
+
+   /**
+    * Applies {@code probe} to every input in parallel, substituting {@code fallback} for any that fail or miss
+    * the deadline.
+    */
+   static <I, R> List<R> all(List<I> inputs, Function<I, R> probe, R fallback) {
+      long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis());
+
+      List<Future<R>> futures = new ArrayList<>(inputs.size());
+      for (I input : inputs) {
+         futures.add(EXECUTOR.submit(() -> probe.apply(input)));
+      }
+
+      List<R> results = new ArrayList<>(inputs.size());
+      for (int i = 0; i < inputs.size(); i++) {
+         R result = await(futures.get(i), deadline, String.valueOf(inputs.get(i)));
+         results.add(result != null ? result : fallback);
+      }
+      return results;
+   }
+
+   private static <T> T await(Future<T> future, long deadline, String name) {
+      try {
+         return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+      } catch (TimeoutException e) {
+         future.cancel(true);
+         GfxDebuggers.LOGGER.warn("Probing {} did not finish within {} ms, skipping it. Is it on a stalled network mount?", name, timeoutMillis());
+         return null;
+      } catch (ExecutionException e) {
+         GfxDebuggers.LOGGER.warn("Probing {} failed: {}", name, e.getCause().toString());
+         return null;
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         future.cancel(true);
+         return null;
+      }
+   }
+}
@@ -0,0 +1,49 @@
+package dev.xirreal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starts the relaunched game as a child with inherited IO and exits with its exit code once it is done. Costs a
+ * second JVM kept alive next to the game, but needs no native code at all.
+ */
+final class ProcessBuilderBackend implements NativeBackend {
+
+   @Override
+   public String name() {
+      return "process-builder";
+   }
+
+   @Override
+   public boolean replaceProcess(String exe, List<String> args, Map<String, String> env) {
+      List<String> command = new ArrayList<>(args.size() + 1);
+      command.add(exe);
+      command.addAll(args);
+
+      ProcessBuilder pb = new ProcessBuilder(command).inheritIO();
+      pb.environment().clear();
+      pb.environment().putAll(env);
+
+      Process process;
+      try {
+         process = pb.start();
+      } catch (IOException e) {
+         GfxDebuggers.LOGGER.error("Could not start {}: {}", exe, e.getMessage());
+         return false;
+      }
+
+      // Killing the launcher's process should still close the game
+      Runtime.getRuntime().addShutdownHook(new Thread(process::destroy, "gfx-debuggers-child-reaper"));
+      try {
+         int exitCode = process.waitFor();
+         System.exit(exitCode);
+      } catch (InterruptedException e) {
+         process.destroy();
+         Thread.currentThread().interrupt();
+         System.exit(1);
+      }
+      return true;
+   }
+}
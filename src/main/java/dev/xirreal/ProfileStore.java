@@ -0,0 +1,125 @@
+package dev.xirreal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Named launch presets in {@code profiles.properties} in the data directory, launched with
+ * {@code -Ddebugger=profile:<name>} and recorded with {@code -Ddebugger.saveProfile=<name>}. Each profile holds the same
+ * keys as the picker's saved settings ({@code debugger}, {@code platform} and {@code opt.<flag>}), prefixed with
+ * {@code <name>.}, e.g. {@code gpu-trace-min.opt.--limit-to-frames=1}.
+ */
+final class ProfileStore {
+
+   static final String PREFIX = "profile:";
+
+   private static final String FILE_NAME = "profiles.properties";
+   // A dot would make the name ambiguous with the keys after it
+   private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_-]+");
+
+   private ProfileStore() {}
+
+   static boolean isValidName(String name) {
+      return NAME.matcher(name).matches();
+   }
+
+   /** The profile's settings in the picker's format, or null if there is no such profile. */
+   static Properties load(String name) throws IOException {
+      Properties all = readAll();
+      Properties profile = new Properties();
+      String prefix = name + ".";
+      for (String key : all.stringPropertyNames()) {
+         if (key.startsWith(prefix)) {
+            profile.setProperty(key.substring(prefix.length()), all.getProperty(key));
+         }
+      }
+      return profile.isEmpty() ? null : profile;
+   }
+
+   static Set<String> names() throws IOException {
+      Set<String> names = new TreeSet<>();
+      for (String key : readAll().stringPropertyNames()) {
+         int dot = key.indexOf('.');
+         if (dot > 0) {
+            names.add(key.substring(0, dot));
+         }
+      }
+      return names;
+   }
+
+   /** Replaces the profile with {@code settings}, leaving every other profile as it is. */
+   static void save(String name, Properties settings) throws IOException {
+      if (!isValidName(name)) {
+         throw new IllegalArgumentException("Profile names may only contain letters, digits, '-' and '_': " + name);
+      }
+      // Re-read under the lock, so a profile saved by another instance in the meantime is kept
+      PlatformUtils.withFileLock(PickerConfig.LOCK_FILE, () -> {
+         Properties all = readAll();
+         String prefix = name + ".";
+         all.stringPropertyNames().stream().filter(key -> key.startsWith(prefix)).forEach(all::remove);
+         for (String key : settings.stringPropertyNames()) {
+            all.setProperty(prefix + key, settings.getProperty(key));
+         }
+
+         ByteArrayOutputStream out = new ByteArrayOutputStream();
+         all.store(out, "gfx-debuggers launch profiles, used with -Ddebugger=profile:<name>");
+         PlatformUtils.writeAtomically(PlatformUtils.getDataDir().resolve(FILE_NAME), out.toByteArray());
+      });
+   }
+
+   /**
+    * The request as picker settings, the inverse of {@link GfxDebuggers#buildRequestFromConfig}. Whether a flag takes
+    * the argument after it comes from {@code options}, the activity's options as parsed from {@code ngfx --help}, so a
+    * value that itself starts with {@code --} stays a value. A flag ngfx doesn't list is rejected, since there is no
+    * telling where its value ends.
+    */
+   static Properties toSettings(DebuggerLaunchRequest request, List<NgfxOption> options) {
+      Map<String, NgfxOption> byFlag = new HashMap<>();
+      for (NgfxOption option : options) {
+         byFlag.put(option.flag, option);
+      }
+
+      Properties settings = new Properties();
+      settings.setProperty("debugger", request.selection.name());
+      if (request.platform != null) {
+         settings.setProperty("platform", request.platform);
+      }
+      List<String> args = request.extraArgs;
+      for (int i = 0; i < args.size(); i++) {
+         String flag = args.get(i);
+         NgfxOption option = byFlag.get(flag);
+         if (option == null) {
+            throw new IllegalArgumentException("ngfx does not list the option " + flag);
+         }
+         if (!option.takesValue) {
+            settings.setProperty("opt." + flag, "true");
+         } else if (i + 1 < args.size()) {
+            settings.setProperty("opt." + flag, args.get(++i));
+         } else {
+            throw new IllegalArgumentException("No value for " + flag);
+         }
+      }
+      return settings;
+   }
+
+   private static Properties readAll() throws IOException {
+      Properties all = new Properties();
+      // Always replaced by an atomic move, so reading needs no lock
+      try (InputStream in = Files.newInputStream(PlatformUtils.getDataDir().resolve(FILE_NAME))) {
+         all.load(in);
+      } catch (NoSuchFileException e) {
+         // No profiles yet
+      }
+      return all;
+   }
+}
@@ -0,0 +1,356 @@
+package dev.xirreal;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import net.fabricmc.loader.api.FabricLoader;
+
+/**
+ * Rebuilds the command line (everything after the java executable) used to relaunch the game.
+ *
+ * On Linux it is read from {@code /proc/self/cmdline} exactly as the launcher passed it, so launcher argfiles stay
+ * argfiles and options the JVM picked up from {@code JAVA_TOOL_OPTIONS} and friends are not duplicated (the child
+ * inherits the environment anyway). Elsewhere {@link ProcessHandle.Info#arguments()} is used, and the
+ * {@code RuntimeMXBean} input arguments only as a last resort, since they pull in the whole management subsystem.
+ */
+final class RelaunchCommandLine {
+
+   static final String KNOT_CLIENT = "net.fabricmc.loader.impl.launch.knot.KnotClient";
+   private static final Set<String> KNOT_MAINS = Set.of(KNOT_CLIENT, "net.fabricmc.loader.launch.knot.KnotClient");
+
+   // Launcher options whose value is the next argument
+   private static final Set<String> OPTIONS_WITH_VALUE = Set.of(
+      "-cp",
+      "-classpath",
+      "--class-path",
+      "-p",
+      "--module-path",
+      "--upgrade-module-path",
+      "--add-modules",
+      "--limit-modules",
+      "--add-exports",
+      "--add-opens",
+      "--add-reads",
+      "--patch-module",
+      "--enable-native-access",
+      "--source",
+      "-d",
+      "--describe-module",
+      "-m",
+      "--module"
+   );
+   private static final Set<String> CLASSPATH_OPTIONS = Set.of("-cp", "-classpath", "--class-path");
+   private static final List<String> INJECTED_OPTIONS_ENV = List.of("JAVA_TOOL_OPTIONS", "JDK_JAVA_OPTIONS", "_JAVA_OPTIONS");
+
+   private RelaunchCommandLine() {}
+
+   static List<String> build() {
+      List<String> args = collect();
+      if (PathingJar.enabled()) {
+         args = compactClassPath(args);
+      }
+      if (AppCds.enabled()) {
+         int classPathIndex = classPathIndex(args);
+         args = AppCds.apply(args, classPathIndex >= 0 ? args.get(classPathIndex) : null);
+      }
+      return args;
+   }
+
+   private static List<String> collect() {
+      List<String> argv = readProcCmdline();
+      List<String> result = argv != null && !argv.isEmpty() ? fromArgv(argv.subList(1, argv.size())) : null;
+      if (result != null) {
+         LaunchTrace.attr("source", "proc");
+         return result;
+      }
+
+      Optional<String[]> arguments = ProcessHandle.current().info().arguments();
+      result = arguments.isPresent() && arguments.get().length > 0 ? fromArgv(Arrays.asList(arguments.get())) : null;
+      if (result != null) {
+         LaunchTrace.attr("source", "process-handle");
+         return result;
+      }
+
+      LaunchTrace.attr("source", "jmx");
+      return fromJmx();
+   }
+
+   /** Returns the raw argv of this process including argv[0], or null if {@code /proc} is not available. */
+   static List<String> readProcCmdline() {
+      if (!PlatformUtils.IS_LINUX) {
+         return null;
+      }
+      byte[] bytes;
+      try {
+         bytes = Files.readAllBytes(Paths.get("/proc/self/cmdline"));
+      } catch (IOException | SecurityException e) {
+         return null;
+      }
+
+      // Arguments are NUL terminated and in the platform encoding, exactly as passed to execve
+      Charset charset = Charset.forName(System.getProperty("sun.jnu.encoding", Charset.defaultCharset().name()));
+      List<String> argv = new ArrayList<>();
+      int start = 0;
+      for (int i = 0; i < bytes.length; i++) {
+         if (bytes[i] == 0) {
+            argv.add(new String(bytes, start, i - start, charset));
+            start = i + 1;
+         }
+      }
+      if (start < bytes.length) {
+         argv.add(new String(bytes, start, bytes.length - start, charset));
+      }
+      return argv;
+   }
+
+   /**
+    * Rebuilds the relaunch arguments from the original launcher arguments. If the game was started through Knot
+    * directly, they are kept as they are. Otherwise (a launcher shim such as Prism's entry point, or {@code -jar})
+    * the JVM options are kept and the shim is swapped for Knot with the real classpath and game arguments. Returns
+    * null if a launcher argfile can no longer be read, since it could not be replayed either.
+    */
+   static List<String> fromArgv(List<String> args) {
+      int mainIndex = -1;
+      boolean mainInArgFile = false;
+      boolean argFiles = true;
+      for (int i = 0; i < args.size(); i++) {
+         String arg = args.get(i);
+         if (argFiles && arg.startsWith("@") && !arg.startsWith("@@")) {
+            List<String> expanded = readArgFile(arg.substring(1));
+            if (expanded == null) {
+               return null;
+            }
+            if (findMain(expanded) >= 0) {
+               mainIndex = i;
+               mainInArgFile = true;
+               break;
+            }
+         } else if (arg.equals("--disable-@files")) {
+            argFiles = false;
+         } else if (OPTIONS_WITH_VALUE.contains(arg)) {
+            i++;
+         } else if (arg.equals("-jar") || !arg.startsWith("-")) {
+            mainIndex = i;
+            break;
+         }
+      }
+
+      if (mainIndex >= 0 && !mainInArgFile && KNOT_MAINS.contains(args.get(mainIndex))) {
+         return new ArrayList<>(args);
+      }
+      if (mainInArgFile) {
+         List<String> expanded = readArgFile(args.get(mainIndex).substring(1));
+         int main = findMain(expanded);
+         if (KNOT_MAINS.contains(expanded.get(main))) {
+            return new ArrayList<>(args);
+         }
+         // The shim is inside the argfile, so only its options can be carried over
+         List<String> options = new ArrayList<>(args.subList(0, mainIndex));
+         options.addAll(expanded.subList(0, main));
+         return withKnot(options);
+      }
+      return withKnot(mainIndex >= 0 ? args.subList(0, mainIndex) : args);
+   }
+
+   private static List<String> withKnot(List<String> options) {
+      List<String> result = new ArrayList<>(options.size() + 8);
+      for (int i = 0; i < options.size(); i++) {
+         String option = options.get(i);
+         if (CLASSPATH_OPTIONS.contains(option)) {
+            // The shim's classpath is replaced by the real one below
+            i++;
+            continue;
+         }
+         result.add(option);
+         if (OPTIONS_WITH_VALUE.contains(option) && i + 1 < options.size()) {
+            result.add(options.get(++i));
+         }
+      }
+      appendKnot(result);
+      return result;
+   }
+
+   private static void appendKnot(List<String> result) {
+      if (System.getProperty("java.library.path") != null) {
+         result.add("-Djava.library.path=" + System.getProperty("java.library.path"));
+      }
+      result.add("-cp");
+      result.add(System.getProperty("java.class.path"));
+
+      // Bypass launcher shims and launch fabric directly as god intended
+      result.add(KNOT_CLIENT);
+      result.addAll(Arrays.asList(FabricLoader.getInstance().getLaunchArguments(false)));
+   }
+
+   /**
+    * Replaces the classpath with a {@link PathingJar} and Knot with {@link PathingJarMain}. Left as is if the
+    * classpath or the main class is hidden in a launcher argfile.
+    */
+   static List<String> compactClassPath(List<String> args) {
+      int classPathIndex = -1;
+      int mainIndex = -1;
+      for (int i = 0; i < args.size(); i++) {
+         String arg = args.get(i);
+         if (arg.startsWith("@")) {
+            continue;
+         }
+         if (CLASSPATH_OPTIONS.contains(arg)) {
+            classPathIndex = ++i;
+         } else if (OPTIONS_WITH_VALUE.contains(arg)) {
+            i++;
+         } else if (!arg.startsWith("-")) {
+            mainIndex = i;
+            break;
+         }
+      }
+      if (classPathIndex < 0 || classPathIndex >= args.size() || mainIndex < 0 || !KNOT_MAINS.contains(args.get(mainIndex))) {
+         GfxDebuggers.LOGGER.info("Classpath is inside a launcher argfile, relaunching without a pathing jar.");
+         return args;
+      }
+
+      try {
+         Path jar = PathingJar.forClassPath(args.get(classPathIndex));
+         List<String> result = new ArrayList<>(args);
+         result.set(classPathIndex, jar.toString());
+         result.set(mainIndex, PathingJarMain.class.getName());
+         LaunchTrace.attr("pathingJar", jar);
+         return result;
+      } catch (IOException e) {
+         GfxDebuggers.LOGGER.warn("Could not write pathing jar, relaunching with the full classpath: {}", e.getMessage());
+         return args;
+      }
+   }
+
+   /** Index of the classpath value on the command line itself, or -1 if it is missing or hidden in an argfile. */
+   private static int classPathIndex(List<String> args) {
+      for (int i = 0; i < args.size(); i++) {
+         String arg = args.get(i);
+         if (arg.startsWith("@")) {
+            continue;
+         }
+         if (CLASSPATH_OPTIONS.contains(arg)) {
+            return i + 1 < args.size() ? i + 1 : -1;
+         } else if (OPTIONS_WITH_VALUE.contains(arg)) {
+            i++;
+         } else if (!arg.startsWith("-")) {
+            return -1;
+         }
+      }
+      return -1;
+   }
+
+   /**
+    * Inlines launcher argfiles, for when the arguments themselves end up in an argfile (java does not expand
+    * {@code @file} references found inside one).
+    */
+   static List<String> expandArgFiles(List<String> args) {
+      List<String> result = new ArrayList<>(args.size());
+      boolean argFiles = true;
+      for (String arg : args) {
+         if (arg.equals("--disable-@files")) {
+            argFiles = false;
+         }
+         List<String> expanded = argFiles && arg.startsWith("@") && !arg.startsWith("@@") ? readArgFile(arg.substring(1)) : null;
+         if (expanded != null) {
+            result.addAll(expanded);
+         } else if (argFiles && arg.startsWith("@@")) {
+            // "@@" escapes a literal leading "@" on the command line, but not inside an argfile
+            result.add(arg.substring(1));
+         } else {
+            result.add(arg);
+         }
+      }
+      return result;
+   }
+
+   private static int findMain(List<String> args) {
+      for (int i = 0; i < args.size(); i++) {
+         String arg = args.get(i);
+         if (OPTIONS_WITH_VALUE.contains(arg)) {
+            i++;
+         } else if (arg.equals("-jar") || !arg.startsWith("-")) {
+            return i;
+         }
+      }
+      return -1;
+   }
+
+   private static List<String> fromJmx() {
+      List<String> result = new ArrayList<>(ManagementFactory.getRuntimeMXBean().getInputArguments());
+      // Input arguments include whatever the JVM read from these variables, which the child inherits again
+      for (String env : INJECTED_OPTIONS_ENV) {
+         String value = System.getenv(env);
+         if (value != null) {
+            for (String injected : parseArgFile(value)) {
+               result.remove(injected);
+            }
+         }
+      }
+      appendKnot(result);
+      return result;
+   }
+
+   private static List<String> readArgFile(String path) {
+      try {
+         return parseArgFile(Files.readString(Path.of(path), Charset.defaultCharset()));
+      } catch (IOException | SecurityException | IllegalArgumentException e) {
+         return null;
+      }
+   }
+
+   // https://docs.oracle.com/en/java/javase/17/docs/specs/man/java.html#java-command-line-argument-files
+   static List<String> parseArgFile(String content) {
+      List<String> args = new ArrayList<>();
+      StringBuilder current = new StringBuilder();
+      boolean inToken = false;
+      char quote = 0;
+      for (int i = 0; i < content.length(); i++) {
+         char c = content.charAt(i);
+         if (quote != 0) {
+            if (c == quote) {
+               quote = 0;
+            } else if (c == '\\' && i + 1 < content.length()) {
+               char next = content.charAt(++i);
+               if (next == '\n' || next == '\r') {
+                  // Line continuation inside quotes: skip the line break and the next line's leading whitespace
+                  while (i + 1 < content.length() && Character.isWhitespace(content.charAt(i + 1))) {
+                     i++;
+                  }
+               } else {
+                  current.append(next == 'n' ? '\n' : next == 't' ? '\t' : next == 'r' ? '\r' : next == 'f' ? '\f' : next);
+               }
+            } else {
+               current.append(c);
+            }
+         } else if (c == '"' || c == '\'') {
+            quote = c;
+            inToken = true;
+         } else if (c == '#' && !inToken) {
+            while (i + 1 < content.length() && content.charAt(i + 1) != '\n') {
+               i++;
+            }
+         } else if (Character.isWhitespace(c)) {
+            if (inToken) {
+               args.add(current.toString());
+               current.setLength(0);
+               inToken = false;
+            }
+         } else {
+            current.append(c);
+            inToken = true;
+         }
+      }
+      if (inToken) {
+         args.add(current.toString());
+      }
+      return args;
+   }
+}
@@ -12,79 +12,159 @@ import java.util.stream.Stream;
 
 public final class RenderdocLocator {
 
+   private static final String SO_NAME = "librenderdoc.so";
+
+   // Used only when there is no /etc/ld.so.cache to ask
+   private static final String[] SO_SEARCH_PATHS = {
+      "/usr/lib64/renderdoc/librenderdoc.so",
+      "/usr/lib64/librenderdoc.so",
+      "/usr/lib/librenderdoc.so",
+      "/usr/lib/x86_64-linux-gnu/librenderdoc.so",
+      "/usr/lib/renderdoc/librenderdoc.so",
+      "/usr/local/lib/librenderdoc.so",
+      "/usr/local/lib64/librenderdoc.so",
+   };
+
+   // Private package directories that ldconfig does not index
+   private static final String[] SO_PRIVATE_PATHS = { "/usr/lib64/renderdoc/librenderdoc.so", "/usr/lib/renderdoc/librenderdoc.so" };
+
    private RenderdocLocator() {}
 
-   public static String findRenderdocSo() {
+   /**
+    * Directories whose contents decide the result of {@link #findRenderdocSo()} / {@link #findRenderdocDll()}.
+    * Used by {@link DiscoveryCache} to tell whether a previous scan is still valid.
+    */
+   static List<Path> searchDirs(boolean linux) {
+      List<Path> dirs = new ArrayList<>();
       String propPath = System.getProperty("renderdoc.path");
       if (propPath != null) {
-         File propFile = new File(propPath);
-         if (propFile.isFile()) {
-            return propFile.getAbsolutePath();
-         }
+         dirs.add(Paths.get(propPath));
+      }
+      String envPath = System.getenv("RENDERDOC_PATH");
+      if (envPath != null) {
+         dirs.add(Paths.get(envPath));
+      }
 
-         File inDir = new File(propPath, "librenderdoc.so");
-         if (inDir.isFile()) {
-            return inDir.getAbsolutePath();
+      String home = System.getProperty("user.home");
+      if (linux) {
+         String libPath = System.getenv("RENDERDOC_LIB_PATH");
+         if (libPath != null) {
+            dirs.add(Paths.get(libPath));
+         }
+         for (String path : SO_SEARCH_PATHS) {
+            Path parent = Paths.get(path).getParent();
+            if (!dirs.contains(parent)) {
+               dirs.add(parent);
+            }
+         }
+         String ldLibraryPath = System.getenv("LD_LIBRARY_PATH");
+         if (ldLibraryPath != null && !ldLibraryPath.isEmpty()) {
+            for (String dir : ldLibraryPath.split(":")) {
+               dirs.add(Paths.get(dir.isEmpty() ? "." : dir));
+            }
+         }
+         dirs.add(LdSoCache.DEFAULT_PATH);
+         dirs.add(Paths.get(home, ".local", "lib"));
+      } else {
+         for (String env : new String[] { "ProgramFiles", "ProgramFiles(x86)" }) {
+            String root = System.getenv(env);
+            if (root != null) {
+               dirs.add(Paths.get(root));
+               dirs.add(Paths.get(root, "RenderDoc"));
+            }
+         }
+         if (home != null) {
+            dirs.add(Paths.get(home, "RenderDoc"));
          }
-         GfxDebuggers.LOGGER.warn("renderdoc.path system property set to '{}' but librenderdoc.so was not found there.", propPath);
+      }
+      return dirs;
+   }
+
+   public static String findRenderdocSo() {
+      List<ProbeEngine.Candidate<String>> candidates = new ArrayList<>();
+
+      String propPath = System.getProperty("renderdoc.path");
+      if (propPath != null) {
+         candidates.add(
+            new ProbeEngine.Candidate<>("renderdoc.path " + propPath, () -> resolveRenderdocSo(propPath), () ->
+               GfxDebuggers.LOGGER.warn("renderdoc.path system property set to '{}' but librenderdoc.so was not found there.", propPath)
+            )
+         );
       }
 
       String renderdocPath = System.getenv("RENDERDOC_PATH");
       if (renderdocPath != null) {
-         File rpFile = new File(renderdocPath);
-         if (rpFile.isFile()) {
-            return rpFile.getAbsolutePath();
-         }
-         File rpInDir = new File(renderdocPath, "librenderdoc.so");
-         if (rpInDir.isFile()) {
-            return rpInDir.getAbsolutePath();
-         }
-         GfxDebuggers.LOGGER.warn("RENDERDOC_PATH env var set to '{}' but librenderdoc.so was not found there.", renderdocPath);
+         candidates.add(
+            new ProbeEngine.Candidate<>("RENDERDOC_PATH " + renderdocPath, () -> resolveRenderdocSo(renderdocPath), () ->
+               GfxDebuggers.LOGGER.warn("RENDERDOC_PATH env var set to '{}' but librenderdoc.so was not found there.", renderdocPath)
+            )
+         );
       }
 
       String envPath = System.getenv("RENDERDOC_LIB_PATH");
-      if (envPath != null && new File(envPath).exists()) {
-         return envPath;
+      if (envPath != null) {
+         candidates.add(new ProbeEngine.Candidate<>("RENDERDOC_LIB_PATH " + envPath, () -> new File(envPath).exists() ? envPath : null));
       }
 
-      String[] searchPaths = {
-         "/usr/lib64/renderdoc/librenderdoc.so",
-         "/usr/lib64/librenderdoc.so",
-         "/usr/lib/librenderdoc.so",
-         "/usr/lib/x86_64-linux-gnu/librenderdoc.so",
-         "/usr/lib/renderdoc/librenderdoc.so",
-         "/usr/local/lib/librenderdoc.so",
-         "/usr/local/lib64/librenderdoc.so",
-      };
-
-      for (String path : searchPaths) {
-         if (new File(path).exists()) {
-            return path;
-         }
+      candidates.add(new ProbeEngine.Candidate<>("LD_LIBRARY_PATH", () -> LdSoCache.findInSearchPath(System.getenv("LD_LIBRARY_PATH"), SO_NAME)));
+      candidates.add(new ProbeEngine.Candidate<>(LdSoCache.DEFAULT_PATH.toString(), RenderdocLocator::findInLinkerCache));
+      for (String path : SO_PRIVATE_PATHS) {
+         candidates.add(new ProbeEngine.Candidate<>(path, () -> new File(path).exists() ? path : null));
       }
 
       String home = System.getProperty("user.home");
-      Path homePath = Paths.get(home, ".local", "lib", "librenderdoc.so");
-      if (Files.exists(homePath)) {
-         return homePath.toAbsolutePath().toString();
+      Path homePath = Paths.get(home, ".local", "lib", SO_NAME);
+      candidates.add(new ProbeEngine.Candidate<>(homePath.toString(), () -> Files.exists(homePath) ? homePath.toAbsolutePath().toString() : null));
+
+      return ProbeEngine.firstHit(candidates);
+   }
+
+   private static String resolveRenderdocSo(String path) {
+      File file = new File(path);
+      if (file.isFile()) {
+         return file.getAbsolutePath();
+      }
+      File inDir = new File(path, SO_NAME);
+      if (inDir.isFile()) {
+         return inDir.getAbsolutePath();
+      }
+      return null;
+   }
+
+   private static String findInLinkerCache() {
+      LdSoCache ldCache = LdSoCache.load(LdSoCache.DEFAULT_PATH);
+      if (ldCache != null) {
+         String cached = ldCache.find(SO_NAME);
+         return cached != null && new File(cached).isFile() ? cached : null;
       }
 
+      for (String path : SO_SEARCH_PATHS) {
+         if (new File(path).exists()) {
+            return path;
+         }
+      }
       return null;
    }
 
    public static String findRenderdocDll() {
+      List<ProbeEngine.Candidate<String>> candidates = new ArrayList<>();
+
       String propPath = System.getProperty("renderdoc.path");
       if (propPath != null) {
-         String resolved = resolveRenderdocDll(propPath);
-         if (resolved != null) return resolved;
-         GfxDebuggers.LOGGER.warn("renderdoc.path system property set to '{}' but renderdoc.dll was not found there.", propPath);
+         candidates.add(
+            new ProbeEngine.Candidate<>("renderdoc.path " + propPath, () -> resolveRenderdocDll(propPath), () ->
+               GfxDebuggers.LOGGER.warn("renderdoc.path system property set to '{}' but renderdoc.dll was not found there.", propPath)
+            )
+         );
       }
 
       String envPath = System.getenv("RENDERDOC_PATH");
       if (envPath != null) {
-         String resolved = resolveRenderdocDll(envPath);
-         if (resolved != null) return resolved;
-         GfxDebuggers.LOGGER.warn("RENDERDOC_PATH env var set to '{}' but renderdoc.dll was not found there.", envPath);
+         candidates.add(
+            new ProbeEngine.Candidate<>("RENDERDOC_PATH " + envPath, () -> resolveRenderdocDll(envPath), () ->
+               GfxDebuggers.LOGGER.warn("RENDERDOC_PATH env var set to '{}' but renderdoc.dll was not found there.", envPath)
+            )
+         );
       }
 
       List<String> roots = new ArrayList<>();
@@ -94,36 +174,39 @@ public final class RenderdocLocator {
       if (programFilesX86 != null) roots.add(programFilesX86);
 
       for (String root : roots) {
-         String direct = resolveRenderdocDll(Paths.get(root, "RenderDoc").toString());
-         if (direct != null) return direct;
-
-         Path rootPath = Paths.get(root);
-         if (Files.isDirectory(rootPath)) {
-            try (Stream<Path> dirs = Files.list(rootPath)) {
-               Path found = dirs
-                  .filter(Files::isDirectory)
-                  .filter(p -> {
-                     String name = p.getFileName().toString().toLowerCase();
-                     return name.startsWith("renderdoc");
-                  })
-                  .sorted(Comparator.comparing(p -> p.getFileName().toString(), Comparator.reverseOrder()))
-                  .filter(p -> Files.exists(p.resolve("renderdoc.dll")))
-                  .findFirst()
-                  .orElse(null);
-               if (found != null) {
-                  return found.resolve("renderdoc.dll").toAbsolutePath().toString();
-               }
-            } catch (IOException ignored) {}
-         }
+         String direct = Paths.get(root, "RenderDoc").toString();
+         candidates.add(new ProbeEngine.Candidate<>(direct, () -> resolveRenderdocDll(direct)));
+         candidates.add(new ProbeEngine.Candidate<>(root, () -> searchVersionedDll(Paths.get(root))));
       }
 
       String home = System.getProperty("user.home");
       if (home != null) {
-         String homeResult = resolveRenderdocDll(Paths.get(home, "RenderDoc").toString());
-         if (homeResult != null) return homeResult;
+         String homeDir = Paths.get(home, "RenderDoc").toString();
+         candidates.add(new ProbeEngine.Candidate<>(homeDir, () -> resolveRenderdocDll(homeDir)));
       }
 
-      return null;
+      return ProbeEngine.firstHit(candidates);
+   }
+
+   private static String searchVersionedDll(Path rootPath) {
+      if (!Files.isDirectory(rootPath)) {
+         return null;
+      }
+      try (Stream<Path> dirs = Files.list(rootPath)) {
+         Path found = dirs
+            .filter(Files::isDirectory)
+            .filter(p -> {
+               String name = p.getFileName().toString().toLowerCase();
+               return name.startsWith("renderdoc");
+            })
+            .sorted(Comparator.comparing(p -> p.getFileName().toString(), Comparator.reverseOrder()))
+            .filter(p -> Files.exists(p.resolve("renderdoc.dll")))
+            .findFirst()
+            .orElse(null);
+         return found != null ? found.resolve("renderdoc.dll").toAbsolutePath().toString() : null;
+      } catch (IOException ignored) {
+         return null;
+      }
    }
 
    private static String resolveRenderdocDll(String path) {
@@ -0,0 +1,127 @@
+package dev.xirreal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Tiny DAG executor for the preLaunch stages. Each stage starts on its own daemon thread as soon as the stages it
+ * depends on have finished, and records when it started and how long it ran so the overlap can be logged. Every
+ * stage is also a {@link LaunchTrace} phase.
+ */
+final class StagePipeline {
+
+   private final long startNanos = System.nanoTime();
+   private final List<Stage<?>> stages = new ArrayList<>();
+   private final List<String> marks = new ArrayList<>();
+   private final ExecutorService executor;
+
+   StagePipeline() {
+      AtomicInteger counter = new AtomicInteger();
+      ThreadFactory factory = r -> {
+         Thread thread = new Thread(r, "gfx-debuggers-stage-" + counter.incrementAndGet());
+         thread.setDaemon(true);
+         return thread;
+      };
+      executor = Executors.newCachedThreadPool(factory);
+   }
+
+   final class Stage<T> {
+
+      final String name;
+      final CompletableFuture<T> future;
+      volatile long startedAt = -1;
+      volatile long finishedAt = -1;
+
+      private Stage(String name, Supplier<T> body, Stage<?>... dependencies) {
+         this.name = name;
+         CompletableFuture<?>[] deps = new CompletableFuture<?>[dependencies.length];
+         for (int i = 0; i < dependencies.length; i++) {
+            deps[i] = dependencies[i].future;
+         }
+         this.future = CompletableFuture.allOf(deps).thenApplyAsync(
+            ignored -> {
+               startedAt = sinceStart();
+               try (LaunchTrace.Phase phase = LaunchTrace.phase(name)) {
+                  try {
+                     return body.get();
+                  } catch (RuntimeException e) {
+                     phase.fail(e);
+                     throw e;
+                  }
+               } finally {
+                  finishedAt = sinceStart();
+               }
+            },
+            executor
+         );
+      }
+
+      /** Waits for the stage and returns its result, rethrowing whatever the stage threw. */
+      T join() {
+         try {
+            return future.join();
+         } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+               throw (RuntimeException) e.getCause();
+            }
+            throw e;
+         }
+      }
+   }
+
+   <T> Stage<T> stage(String name, Supplier<T> body, Stage<?>... dependencies) {
+      Stage<T> stage = new Stage<>(name, body, dependencies);
+      synchronized (stages) {
+         stages.add(stage);
+      }
+      return stage;
+   }
+
+   /** Records a named point in time, e.g. when the picker became visible. */
+   void mark(String name) {
+      synchronized (marks) {
+         marks.add(name + " at +" + sinceStart() + " ms");
+      }
+   }
+
+   /**
+    * Logs when every stage ran, together with the sum of all stage durations, i.e. roughly what the same work cost
+    * when run one after another.
+    */
+   void logTimings() {
+      StringBuilder sb = new StringBuilder("preLaunch stage timings:");
+      long sequential = 0;
+      synchronized (stages) {
+         for (Stage<?> stage : stages) {
+            if (stage.startedAt < 0) {
+               sb.append("\n  ").append(stage.name).append(": not run");
+            } else if (stage.finishedAt < 0) {
+               sb.append("\n  ").append(stage.name).append(": started at +").append(stage.startedAt).append(" ms, still running");
+            } else {
+               long took = stage.finishedAt - stage.startedAt;
+               sequential += took;
+               sb.append("\n  ").append(stage.name).append(": +").append(stage.startedAt).append(" ms, took ").append(took).append(" ms");
+            }
+         }
+      }
+      synchronized (marks) {
+         for (String mark : marks) {
+            sb.append("\n  ").append(mark);
+         }
+      }
+      sb.append("\n  total ").append(sinceStart()).append(" ms, ").append(sequential).append(" ms if run sequentially");
+      GfxDebuggers.LOGGER.info("{}", sb);
+   }
+
+   private long sinceStart() {
+      return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+   }
+}
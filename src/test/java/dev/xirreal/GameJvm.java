@@ -0,0 +1,136 @@
+package dev.xirreal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the real preLaunch entry point in a fresh JVM started the way a launcher starts the game, with fake debuggers:
+ * a shell script for {@code ngfx} that logs every run, a stub {@code librenderdoc.so} built with the system C
+ * compiler, and the process-builder relaunch backend, so a relaunch starts another such JVM instead of replacing the
+ * test's. Public only because the stand-in Knot main lives in Fabric's package.
+ */
+public final class GameJvm {
+
+   static final String STARTED = "game started";
+   static final String CLASS_PATH = "class path ";
+
+   static final String DATA_DIR_PROPERTY = "gfx-debuggers.test.dataDir";
+
+   private static final String HELP = String.join("\n",
+      "General options:",
+      "  --platform arg                        Target platform to use, must be one",
+      "                                        of:",
+      "                                          Linux (x86_64)",
+      "  --activity arg                        Target activity to use, must be one",
+      "                                        of:",
+      "                                          Frame Debugger",
+      "                                          GPU Trace Profiler",
+      "GPU Trace Profiler activity options:",
+      "  --limit-to-frames arg (=1)            Number of frames to trace",
+      "  --multi-pass-metrics                  Collect metrics over several passes",
+      "");
+
+   final Path dir;
+   final Path dataDir;
+   final Path ngfx;
+   final Path ngfxRuns;
+   private final Path renderdoc;
+
+   /** Sets up the fakes in {@code dir}; skips the calling test where they can't work. */
+   GameJvm(Path dir) throws Exception {
+      assumeTrue(PlatformUtils.IS_LINUX, "the fakes and the relaunch need Linux");
+      this.dir = dir;
+      this.dataDir = Files.createDirectories(dir.resolve("config").resolve(GfxDebuggers.MOD_ID));
+
+      ngfxRuns = dir.resolve("ngfx-runs");
+      Path help = dir.resolve("ngfx-help.txt");
+      Files.writeString(help, HELP);
+      ngfx = dir.resolve("ngfx");
+      Files.writeString(ngfx, "#!/bin/sh\nprintf '%s\\n' \"$*\" >> '" + ngfxRuns + "'\n[ \"$1\" = --help-all ] && cat '" + help + "'\nexit 0\n");
+      assertTrue(ngfx.toFile().setExecutable(true));
+
+      renderdoc = dir.resolve("librenderdoc.so");
+      Path source = dir.resolve("librenderdoc.c");
+      Files.writeString(source, "static void *table[32];\nint RENDERDOC_GetAPI(int version, void **out) { *out = table; return 1; }\n");
+      Process cc;
+      try {
+         cc = new ProcessBuilder("cc", "-shared", "-fPIC", "-o", renderdoc.toString(), source.toString()).inheritIO().start();
+      } catch (IOException e) {
+         assumeTrue(false, "no C compiler: " + e.getMessage());
+         throw e;
+      }
+      assertTrue(cc.waitFor(60, TimeUnit.SECONDS), "cc timed out");
+      assertEquals(0, cc.exitValue(), "cc failed");
+   }
+
+   /** Writes the picker's saved settings, as read by {@code -Ddebugger=last}. */
+   void saveConfig(String properties) throws IOException {
+      Files.writeString(dataDir.getParent().resolve("gfx-debuggers.properties"), properties);
+   }
+
+   /** Starts the game JVM with {@code options} before the main class and returns everything it and its relaunch printed. */
+   List<String> run(String... options) throws Exception {
+      List<String> command = new ArrayList<>();
+      command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+      command.add("-D" + DATA_DIR_PROPERTY + "=" + dataDir);
+      command.add("-Dngfx.path=" + ngfx);
+      command.add("-Drenderdoc.path=" + renderdoc);
+      command.add("-Ddebugger.native=process");
+      command.addAll(List.of(options));
+      command.add("-cp");
+      command.add(System.getProperty("java.class.path"));
+      command.add(RelaunchCommandLine.KNOT_CLIENT);
+
+      ProcessBuilder pb = new ProcessBuilder(command);
+      pb.environment().put("XDG_STATE_HOME", dir.resolve("state").toString());
+      pb.environment().remove("RENDERDOC_PATH");
+      pb.environment().remove("NGFX_PATH");
+      pb.redirectErrorStream(true);
+      Process game = pb.start();
+
+      List<String> output = new ArrayList<>();
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(game.getInputStream(), StandardCharsets.UTF_8))) {
+         String line;
+         while ((line = reader.readLine()) != null) {
+            output.add(line);
+         }
+      }
+      assertTrue(game.waitFor(60, TimeUnit.SECONDS), "game JVM timed out");
+      assertEquals(0, game.exitValue(), "game JVM failed:\n" + String.join("\n", output));
+      return output;
+   }
+
+   /** The arguments of every {@code ngfx} run so far, one string per run. */
+   List<String> ngfxRuns() throws IOException {
+      try {
+         return Files.readAllLines(ngfxRuns);
+      } catch (NoSuchFileException e) {
+         return List.of();
+      }
+   }
+
+   long helpRuns() throws IOException {
+      return ngfxRuns().stream().filter(run -> run.startsWith("--help-all")).count();
+   }
+
+   /** The game: runs preLaunch like Fabric would, then reports which process it is. */
+   public static void main(String[] args) {
+      PlatformUtils.dataDirOverride = Paths.get(System.getProperty(DATA_DIR_PROPERTY));
+      new GfxDebuggers().onPreLaunch();
+      System.out.println(STARTED + (System.getenv("GFX_DEBUGGERS_RENDERDOC") != null ? " with renderdoc" : ""));
+      System.out.println(CLASS_PATH + System.getProperty("java.class.path"));
+   }
+}
@@ -0,0 +1,71 @@
+package dev.xirreal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Runs non-interactive launches through the real preLaunch entry point, relaunch included, with class loading
+ * logged, and checks that neither AWT, Swing nor ImageIO gets loaded on them.
+ */
+class HeadlessLaunchPathTest {
+
+   private static final List<String> DESKTOP_PACKAGES = List.of(" java.awt.", " javax.swing.", " javax.imageio.");
+
+   @TempDir
+   Path tempDir;
+
+   @Test
+   void renderdocLoadsNoDesktopClasses() throws Exception {
+      GameJvm game = new GameJvm(tempDir);
+
+      List<String> output = game.run("-verbose:class", "-Ddebugger=renderdoc");
+
+      assertTrue(output.contains(GameJvm.STARTED + " with renderdoc"), "the relaunched game never started");
+      assertNoDesktopClasses(output);
+   }
+
+   @Test
+   void lastLoadsNoDesktopClasses() throws Exception {
+      GameJvm game = new GameJvm(tempDir);
+      game.saveConfig("debugger=GPU_TRACE\nautoLaunch=3\nopt.--limit-to-frames=2\nopt.--multi-pass-metrics=true\n");
+
+      List<String> output = game.run("-verbose:class", "-Ddebugger=last");
+
+      // The saved options went to the fake ngfx, which then "started" the game
+      List<String> runs = game.ngfxRuns();
+      assertEquals(1, runs.size());
+      String launch = runs.get(0);
+      assertTrue(launch.startsWith("--activity=GPU Trace Profiler "), launch);
+      assertTrue(launch.contains(" --limit-to-frames 2") && launch.contains(" --multi-pass-metrics"), launch);
+      assertNoDesktopClasses(output);
+   }
+
+   @Test
+   void consolePickerLoadsNoDesktopClasses() throws Exception {
+      GameJvm game = new GameJvm(tempDir);
+
+      // No terminal in a child process, so the console picker gives up and the game starts without a debugger
+      List<String> output = game.run("-verbose:class", "-Ddebugger.picker=console");
+
+      assertTrue(output.contains(GameJvm.STARTED));
+      assertNoDesktopClasses(output);
+   }
+
+   private static void assertNoDesktopClasses(List<String> output) {
+      List<String> loaded = new ArrayList<>();
+      for (String line : output) {
+         for (String prefix : DESKTOP_PACKAGES) {
+            if (line.contains(prefix)) {
+               loaded.add(line);
+            }
+         }
+      }
+      assertTrue(loaded.isEmpty(), "desktop classes loaded on a non-interactive launch: " + loaded);
+   }
+}
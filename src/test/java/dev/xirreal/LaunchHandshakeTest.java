@@ -0,0 +1,63 @@
+package dev.xirreal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LaunchHandshakeTest {
+
+   @TempDir
+   Path tempDir;
+
+   @BeforeEach
+   void isolateDataDir() throws Exception {
+      PlatformUtils.dataDirOverride = Files.createDirectories(tempDir.resolve("data"));
+   }
+
+   @AfterEach
+   void restoreDataDir() {
+      PlatformUtils.dataDirOverride = null;
+      System.clearProperty("debugger.native");
+   }
+
+   @Test
+   void failedRelaunchWithdrawsItsHandoff() throws Exception {
+      // The process-builder backend returns when the executable can't be started, like a failed execve
+      System.setProperty("debugger.native", "process");
+      boolean relaunched = PlatformUtils.relaunchWithExtraLD_PRELOAD(
+         tempDir.resolve("no-such-java").toString(),
+         List.of("-version"),
+         tempDir.resolve("librenderdoc.so").toString(),
+         "GFX_DEBUGGERS_TEST_MARKER",
+         "renderdoc");
+
+      assertFalse(relaunched);
+      List<String[]> history = LaunchHandshake.readHistory();
+      assertEquals(2, history.size());
+      assertEquals(LaunchHandshake.HANDOFF, history.get(0)[2]);
+      assertEquals(LaunchHandshake.HANDOFF_FAILED, history.get(1)[2]);
+      assertEquals(history.get(0)[1], history.get(1)[1]);
+      assertEquals(0, LaunchHandshake.lostHandoffs(history, LaunchHandshake.group(history.get(0))));
+   }
+
+   @Test
+   void handoffWithoutChildIsLost() throws Exception {
+      String arrived = "a:" + System.currentTimeMillis() + ":" + AppCds.OFF;
+      LaunchHandshake.handoff("renderdoc", arrived);
+      LaunchHandshake.onChildPreLaunch("renderdoc", arrived);
+      LaunchHandshake.handoff("renderdoc", "b:" + System.currentTimeMillis() + ":" + AppCds.OFF);
+      String failed = "c:" + System.currentTimeMillis() + ":" + AppCds.OFF;
+      LaunchHandshake.handoff("renderdoc", failed);
+      LaunchHandshake.handoffFailed("renderdoc", failed);
+
+      List<String[]> history = LaunchHandshake.readHistory();
+      assertEquals(1, LaunchHandshake.lostHandoffs(history, LaunchHandshake.group(history.get(0))));
+   }
+}
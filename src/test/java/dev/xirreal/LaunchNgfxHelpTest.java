@@ -0,0 +1,57 @@
+package dev.xirreal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Launches that name their debugger up front must never wait on {@code ngfx --help-all}. */
+class LaunchNgfxHelpTest {
+
+   @TempDir
+   Path tempDir;
+
+   @Test
+   void skipRunsNoNgfx() throws Exception {
+      GameJvm game = new GameJvm(tempDir);
+
+      assertTrue(game.run("-Ddebugger=skip").contains(GameJvm.STARTED));
+      assertEquals(List.of(), game.ngfxRuns());
+   }
+
+   @Test
+   void renderdocRunsNoNgfx() throws Exception {
+      GameJvm game = new GameJvm(tempDir);
+
+      List<String> output = game.run("-Ddebugger=renderdoc");
+
+      assertTrue(output.contains(GameJvm.STARTED + " with renderdoc"), String.join("\n", output));
+      assertEquals(List.of(), game.ngfxRuns());
+   }
+
+   @Test
+   void nsightFrameRunsNgfxOnlyToLaunch() throws Exception {
+      GameJvm game = new GameJvm(tempDir);
+
+      game.run("-Ddebugger=nsight-frame");
+
+      assertEquals(0, game.helpRuns());
+      List<String> runs = game.ngfxRuns();
+      assertEquals(1, runs.size());
+      assertTrue(runs.get(0).startsWith("--activity=Frame Debugger "), runs.get(0));
+   }
+
+   @Test
+   void nsightGpuRunsHelpOnce() throws Exception {
+      GameJvm game = new GameJvm(tempDir);
+
+      game.run("-Ddebugger=nsight-gpu");
+
+      // The counting fake works: this one does need the options
+      assertEquals(1, game.helpRuns());
+      assertTrue(game.ngfxRuns().get(1).contains("--activity=GPU Trace Profiler --platform=Linux (x86_64) "), game.ngfxRuns().get(1));
+   }
+}
@@ -0,0 +1,73 @@
+package dev.xirreal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LaunchScriptTest {
+
+   @TempDir
+   Path tempDir;
+
+   private Path dataDir;
+   private String userHome;
+
+   @BeforeEach
+   void isolate() throws Exception {
+      assumeTrue(PlatformUtils.IS_LINUX, "launch scripts are Linux only");
+      assumeTrue(System.getenv("XDG_STATE_HOME") == null, "XDG_STATE_HOME would override the test home");
+      dataDir = Files.createDirectories(tempDir.resolve("config").resolve(GfxDebuggers.MOD_ID));
+      PlatformUtils.dataDirOverride = dataDir;
+      userHome = System.getProperty("user.home");
+      System.setProperty("user.home", tempDir.resolve("home").toString());
+   }
+
+   @AfterEach
+   void restore() {
+      PlatformUtils.dataDirOverride = null;
+      if (userHome != null) {
+         System.setProperty("user.home", userHome);
+      }
+   }
+
+   @Test
+   void keepsSessionTokenOutOfConfigDir() throws Exception {
+      List<String> javaArgs = List.of("-cp", "game.jar", "net.fabricmc.loader.impl.launch.knot.KnotClient", "--accessToken", "secret");
+      LaunchScript.update("renderdoc", Map.of("LD_PRELOAD", "/usr/lib/librenderdoc.so"), List.of("java", "@" + LaunchScript.argFile("renderdoc")), "/game", javaArgs);
+
+      Path argFile = LaunchScript.argFile("renderdoc");
+      assertTrue(argFile.startsWith(tempDir.resolve("home").resolve(".local").resolve("state")));
+      assertFalse(argFile.startsWith(dataDir));
+      assertTrue(Files.readString(argFile).contains("secret"));
+      assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(argFile)));
+      assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(argFile.getParent())));
+   }
+
+   @Test
+   void instancesGetTheirOwnScripts() throws Exception {
+      Path first = LaunchScript.argFile("renderdoc");
+      PlatformUtils.dataDirOverride = Files.createDirectories(tempDir.resolve("other-instance"));
+
+      assertFalse(first.equals(LaunchScript.argFile("renderdoc")));
+   }
+
+   @Test
+   void reportsMissingClassPathEntries() throws Exception {
+      Path present = Files.createFile(tempDir.resolve("present.jar"));
+      String missing = tempDir.resolve("removed-mod.jar").toString();
+
+      assertEquals(List.of(missing), LaunchScript.missingEntries(present + File.pathSeparator + missing + File.pathSeparator));
+   }
+}
@@ -0,0 +1,170 @@
+package dev.xirreal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LdSoCacheTest {
+
+   private static final int X86_64 = 0x0303;
+   private static final int AARCH64 = 0x0a03;
+   private static final int I386 = 0x0003;
+
+   @TempDir
+   Path tempDir;
+
+   @Test
+   void readsNewFormat() {
+      byte[] data = newFormat(
+         entry(X86_64, "libGL.so.1", "/usr/lib64/libGL.so.1"),
+         entry(X86_64, "libvulkan.so.1", "/usr/lib64/libvulkan.so.1"));
+
+      LdSoCache cache = LdSoCache.parse(data, 0x0300);
+
+      assertNotNull(cache);
+      assertEquals("/usr/lib64/libGL.so.1", cache.find("libGL.so.1"));
+      assertEquals("/usr/lib64/libvulkan.so.1", cache.find("libvulkan.so.1"));
+   }
+
+   @Test
+   void readsOldFormat() {
+      byte[] data = oldFormat(false,
+         entry(X86_64, "libGL.so.1", "/usr/lib/libGL.so.1"),
+         entry(X86_64, "libX11.so.6", "/usr/lib/libX11.so.6"));
+
+      LdSoCache cache = LdSoCache.parse(data, 0x0300);
+
+      assertNotNull(cache);
+      assertEquals("/usr/lib/libGL.so.1", cache.find("libGL.so.1"));
+      assertEquals("/usr/lib/libX11.so.6", cache.find("libX11.so.6"));
+   }
+
+   @Test
+   void prefersNewFormatAfterOldHeader() {
+      byte[] data = oldFormat(true,
+         entry(X86_64, "libGL.so.1", "/old/libGL.so.1"));
+
+      LdSoCache cache = LdSoCache.parse(data, 0x0300);
+
+      assertNotNull(cache);
+      assertEquals("/new/libGL.so.1", cache.find("libGL.so.1"));
+   }
+
+   @Test
+   void keepsOnlyRequiredArchitecture() {
+      byte[] data = newFormat(
+         entry(I386, "libGL.so.1", "/usr/lib32/libGL.so.1"),
+         entry(AARCH64, "libGL.so.1", "/usr/lib/aarch64/libGL.so.1"),
+         entry(X86_64, "libGL.so.1", "/usr/lib64/libGL.so.1"));
+
+      assertEquals("/usr/lib64/libGL.so.1", LdSoCache.parse(data, 0x0300).find("libGL.so.1"));
+      assertEquals("/usr/lib/aarch64/libGL.so.1", LdSoCache.parse(data, 0x0a00).find("libGL.so.1"));
+      // Unknown architecture: the first entry wins, same as ldconfig's ordering
+      assertEquals("/usr/lib32/libGL.so.1", LdSoCache.parse(data, -1).find("libGL.so.1"));
+   }
+
+   @Test
+   void missingEntryIsNull() {
+      byte[] data = newFormat(entry(X86_64, "libGL.so.1", "/usr/lib64/libGL.so.1"));
+
+      assertNull(LdSoCache.parse(data, 0x0300).find("librenderdoc.so"));
+   }
+
+   @Test
+   void unknownMagicIsNull() {
+      assertNull(LdSoCache.parse("not a cache at all".getBytes(StandardCharsets.US_ASCII), 0x0300));
+   }
+
+   @Test
+   void truncatedFileIsRejected() throws Exception {
+      byte[] data = newFormat(
+         entry(X86_64, "libGL.so.1", "/usr/lib64/libGL.so.1"),
+         entry(X86_64, "libvulkan.so.1", "/usr/lib64/libvulkan.so.1"));
+      byte[] truncated = Arrays.copyOf(data, 60);
+
+      assertThrows(IndexOutOfBoundsException.class, () -> LdSoCache.parse(truncated, 0x0300));
+
+      // load() turns the same input into "no cache"
+      Path file = tempDir.resolve("ld.so.cache");
+      Files.write(file, truncated);
+      assertNull(LdSoCache.load(file));
+   }
+
+   @Test
+   void missingFileIsNull() {
+      assertNull(LdSoCache.load(tempDir.resolve("does-not-exist")));
+   }
+
+   private static String[] entry(int flags, String key, String value) {
+      return new String[] { Integer.toString(flags), key, value };
+   }
+
+   /** A {@code glibc-ld.so.cache1.1} section, with string offsets relative to the start of its header. */
+   private static byte[] newFormat(String[]... entries) {
+      int stringsStart = 48 + entries.length * 24;
+      ByteArrayOutputStream strings = new ByteArrayOutputStream();
+      ByteBuffer buf = ByteBuffer.allocate(stringsStart).order(ByteOrder.nativeOrder());
+      buf.put("glibc-ld.so.cache1.1".getBytes(StandardCharsets.US_ASCII));
+      buf.putInt(20, entries.length);
+      for (int i = 0; i < entries.length; i++) {
+         int entry = 48 + i * 24;
+         buf.putInt(entry, Integer.parseInt(entries[i][0]));
+         buf.putInt(entry + 4, stringsStart + append(strings, entries[i][1]));
+         buf.putInt(entry + 8, stringsStart + append(strings, entries[i][2]));
+      }
+      return concat(buf.array(), strings.toByteArray());
+   }
+
+   /**
+    * An {@code ld.so-1.7.0} file, with string offsets relative to the end of its entries, optionally followed by a
+    * new-format section that maps every key to {@code /new/<key>}.
+    */
+   private static byte[] oldFormat(boolean withNewSection, String[]... entries) {
+      int oldEnd = 16 + entries.length * 12;
+      ByteBuffer buf = ByteBuffer.allocate(oldEnd).order(ByteOrder.nativeOrder());
+      buf.put("ld.so-1.7.0".getBytes(StandardCharsets.US_ASCII));
+      buf.putInt(12, entries.length);
+      ByteArrayOutputStream strings = new ByteArrayOutputStream();
+      for (int i = 0; i < entries.length; i++) {
+         int entry = 16 + i * 12;
+         buf.putInt(entry, Integer.parseInt(entries[i][0]));
+         buf.putInt(entry + 4, append(strings, entries[i][1]));
+         buf.putInt(entry + 8, append(strings, entries[i][2]));
+      }
+      if (!withNewSection) {
+         return concat(buf.array(), strings.toByteArray());
+      }
+
+      // The new header starts at the next 8-byte boundary after the old entries
+      int aligned = (oldEnd + 7) & ~7;
+      String[][] renamed = new String[entries.length][];
+      for (int i = 0; i < entries.length; i++) {
+         renamed[i] = entry(Integer.parseInt(entries[i][0]), entries[i][1], "/new/" + entries[i][1]);
+      }
+      return concat(Arrays.copyOf(buf.array(), aligned), newFormat(renamed));
+   }
+
+   private static int append(ByteArrayOutputStream strings, String value) {
+      int offset = strings.size();
+      strings.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+      strings.write(0);
+      return offset;
+   }
+
+   private static byte[] concat(byte[] a, byte[] b) {
+      byte[] result = Arrays.copyOf(a, a.length + b.length);
+      System.arraycopy(b, 0, result, a.length, b.length);
+      return result;
+   }
+}
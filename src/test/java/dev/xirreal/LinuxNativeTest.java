@@ -0,0 +1,79 @@
+package dev.xirreal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Loads small stand-ins for librenderdoc.so, built with the system C compiler. */
+class LinuxNativeTest {
+
+   @TempDir
+   Path tempDir;
+
+   @BeforeEach
+   void linuxOnly() {
+      assumeTrue(PlatformUtils.IS_LINUX, "dlopen is Linux only");
+   }
+
+   @Test
+   void acceptsLibraryThatHandsOutApiTable() throws Exception {
+      Path library = stub("librenderdoc-ok.so",
+         "static void *table[32];\n" +
+         "int RENDERDOC_GetAPI(int version, void **out) { if (version != 10000) return 0; *out = table; return 1; }\n");
+
+      assertTrue(LinuxNative.loadRenderdoc(library.toString()));
+   }
+
+   @Test
+   void rejectsLibraryThatRefusesTheVersion() throws Exception {
+      Path library = stub("librenderdoc-refuses.so",
+         "int RENDERDOC_GetAPI(int version, void **out) { return 0; }\n");
+
+      assertFalse(LinuxNative.loadRenderdoc(library.toString()));
+   }
+
+   @Test
+   void rejectsLibraryWithoutApiTable() throws Exception {
+      Path library = stub("librenderdoc-null.so",
+         "int RENDERDOC_GetAPI(int version, void **out) { *out = 0; return 1; }\n");
+
+      assertFalse(LinuxNative.loadRenderdoc(library.toString()));
+   }
+
+   @Test
+   void rejectsLibraryWithoutEntryPoint() throws Exception {
+      Path library = stub("librenderdoc-empty.so", "int unrelated(void) { return 0; }\n");
+
+      assertFalse(LinuxNative.loadRenderdoc(library.toString()));
+   }
+
+   @Test
+   void rejectsMissingLibrary() {
+      assertFalse(LinuxNative.loadRenderdoc(tempDir.resolve("librenderdoc-missing.so").toString()));
+   }
+
+   private Path stub(String name, String source) throws Exception {
+      Path c = tempDir.resolve(name + ".c");
+      Files.writeString(c, source);
+      Path library = tempDir.resolve(name);
+      Process cc;
+      try {
+         cc = new ProcessBuilder("cc", "-shared", "-fPIC", "-o", library.toString(), c.toString()).inheritIO().start();
+      } catch (IOException e) {
+         assumeTrue(false, "no C compiler: " + e.getMessage());
+         throw e;
+      }
+      assertTrue(cc.waitFor(60, TimeUnit.SECONDS), "cc timed out");
+      assertEquals(0, cc.exitValue(), "cc failed");
+      return library;
+   }
+}
@@ -0,0 +1,102 @@
+package dev.xirreal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Counts how often a fake {@code ngfx} is started, to check which paths run it and which must not. */
+class NgfxHelpHandleTest {
+
+   private static final String TRANSCRIPT = String.join("\n",
+      "General options:",
+      "  --platform arg                        Target platform to use, must be one",
+      "                                        of:",
+      "                                          Windows",
+      "  --activity arg                        Target activity to use, must be one",
+      "                                        of:",
+      "                                          GPU Trace Profiler",
+      "  --exe arg                             Executable to launch",
+      "GPU Trace Profiler activity options:",
+      "  --limit-to-frames arg (=1)            Number of frames to trace",
+      "");
+
+   @TempDir
+   Path tempDir;
+
+   private Path runs;
+
+   @BeforeEach
+   void isolateDataDir() throws Exception {
+      assumeFalse(PlatformUtils.IS_WINDOWS, "needs a POSIX shell");
+      PlatformUtils.dataDirOverride = Files.createDirectories(tempDir.resolve("data"));
+      runs = tempDir.resolve("runs");
+   }
+
+   @AfterEach
+   void restoreDataDir() {
+      PlatformUtils.dataDirOverride = null;
+   }
+
+   @Test
+   void peekNeverRunsNgfx() throws Exception {
+      NgfxHelpHandle handle = new NgfxHelpHandle(fakeNgfx(0));
+
+      assertNull(handle.peek());
+      assertEquals(0, runCount());
+   }
+
+   @Test
+   void cachedHelpIsUsedWithoutRunningNgfx() throws Exception {
+      Path ngfx = fakeNgfx(0);
+      assertEquals(1, new NgfxHelpHandle(ngfx).get().gpuTraceOptions.size());
+      assertEquals(1, runCount());
+
+      NgfxHelpHandle later = new NgfxHelpHandle(ngfx);
+      assertNotNull(later.peek());
+      assertEquals(1, later.get().gpuTraceOptions.size());
+      assertEquals(1, runCount());
+   }
+
+   @Test
+   void peekDoesNotWaitForGet() throws Exception {
+      NgfxHelpHandle handle = new NgfxHelpHandle(fakeNgfx(2));
+      CompletableFuture<NgfxHelpInfo> forced = CompletableFuture.supplyAsync(handle::get);
+      while (runCount() == 0) {
+         Thread.sleep(10);
+      }
+
+      long start = System.nanoTime();
+      assertNull(handle.peek());
+      long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+      assertTrue(elapsed < 1000, "peek waited " + elapsed + " ms for the running parse");
+      assertNotNull(forced.get(10, TimeUnit.SECONDS));
+      assertNotNull(handle.peek());
+   }
+
+   private Path fakeNgfx(int delaySeconds) throws Exception {
+      Path transcript = tempDir.resolve("help.txt");
+      Files.write(transcript, TRANSCRIPT.getBytes(StandardCharsets.UTF_8));
+      Path script = tempDir.resolve("ngfx");
+      String body = "#!/bin/sh\necho run >> '" + runs + "'\nsleep " + delaySeconds + "\ncat '" + transcript + "'\n";
+      Files.write(script, body.getBytes(StandardCharsets.UTF_8));
+      assertTrue(script.toFile().setExecutable(true));
+      return script;
+   }
+
+   private int runCount() throws Exception {
+      return Files.exists(runs) ? Files.readAllLines(runs).size() : 0;
+   }
+}
@@ -0,0 +1,179 @@
+package dev.xirreal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Runs the parser against shell scripts standing in for a misbehaving {@code ngfx}. */
+class NgfxHelpParserTest {
+
+   private static final long TIMEOUT_MS = 1500;
+
+   private static final String HEADER = String.join("\n",
+      "NVIDIA Nsight Graphics command line tool",
+      "",
+      "General options:",
+      "  --help                                Print this help message",
+      "  --platform arg                        Target platform to use, must be one",
+      "                                        of:",
+      "                                          Windows",
+      "                                          Linux (x86_64)",
+      "",
+      "  --activity arg                        Target activity to use, must be one",
+      "                                        of:",
+      "                                          Frame Debugger",
+      "                                          GPU Trace Profiler",
+      "  --exe arg                             Executable to launch",
+      "");
+
+   private static final String GPU_TRACE = String.join("\n",
+      "GPU Trace Profiler activity options:",
+      "  --start-after-frames arg              Number of frames to wait before",
+      "                                        starting the trace",
+      "  --limit-to-frames arg (=1)            Number of frames to trace",
+      "  --multi-pass-metrics                  Collect metrics over several passes",
+      "");
+
+   private static final String FRAME_DEBUGGER = String.join("\n",
+      "Frame Debugger activity options:",
+      "  --wait-frames arg                     Frames to wait before capturing",
+      "");
+
+   @TempDir
+   Path tempDir;
+
+   @BeforeEach
+   void shortTimeout() {
+      assumeFalse(PlatformUtils.IS_WINDOWS, "needs a POSIX shell");
+      System.setProperty("debugger.helpTimeout", Long.toString(TIMEOUT_MS));
+   }
+
+   @AfterEach
+   void resetTimeout() {
+      System.clearProperty("debugger.helpTimeout");
+   }
+
+   @Test
+   void readsEverythingOnCleanExit() throws Exception {
+      NgfxHelpInfo info = NgfxHelpParser.parse(fakeNgfx(HEADER + GPU_TRACE + FRAME_DEBUGGER, "exit 0"), null);
+
+      assertTrue(info.complete);
+      assertEquals(List.of("Windows", "Linux (x86_64)"), info.platforms);
+      assertEquals(3, info.gpuTraceOptions.size());
+      assertEquals(1, info.optionsFor("Frame Debugger").size());
+   }
+
+   @Test
+   void stopsOnceRequestedSectionsAreRead() throws Exception {
+      // The next section has started, then ngfx stalls without exiting
+      Path ngfx = fakeNgfx(HEADER + GPU_TRACE + FRAME_DEBUGGER, "sleep 30");
+
+      long start = System.nanoTime();
+      NgfxHelpInfo info = NgfxHelpParser.parse(ngfx, List.of(NgfxHelpInfo.GPU_TRACE_ACTIVITY));
+      long elapsed = elapsedSince(start);
+
+      assertTrue(info.complete);
+      assertEquals(3, info.gpuTraceOptions.size());
+      // Still open when reading stopped, so it may have been cut short
+      assertFalse(info.activityOptions.containsKey("Frame Debugger"));
+      assertTrue(elapsed < TIMEOUT_MS / 2, "took " + elapsed + " ms");
+   }
+
+   @Test
+   void slowExitIsKilledAtDeadline() throws Exception {
+      // All output is in and stdout is closed, only the exit is slow
+      Path ngfx = fakeNgfx(HEADER + GPU_TRACE, "exec >/dev/null 2>&1\nsleep 30");
+
+      long start = System.nanoTime();
+      NgfxHelpInfo info = NgfxHelpParser.parse(ngfx, null);
+      long elapsed = elapsedSince(start);
+
+      // Never exited, so not cached as if it had
+      assertFalse(info.complete);
+      assertEquals(3, info.gpuTraceOptions.size());
+      assertTrue(elapsed >= TIMEOUT_MS - 100 && elapsed < TIMEOUT_MS + 1000, "took " + elapsed + " ms");
+   }
+
+   @Test
+   void stopsEarlyInMegabytesOfOutput() throws Exception {
+      // Several MB of other options on both sides of the GPU Trace section, then ngfx stalls
+      String before = "Vulkan options:\n" + filler("vulkan", 4 << 20);
+      String after = FRAME_DEBUGGER + filler("frame", 4 << 20);
+      Path ngfx = fakeNgfx(HEADER + before + GPU_TRACE + after, "sleep 30");
+
+      long start = System.nanoTime();
+      NgfxHelpInfo info = NgfxHelpParser.parse(ngfx, List.of(NgfxHelpInfo.GPU_TRACE_ACTIVITY));
+      long elapsed = elapsedSince(start);
+
+      assertTrue(info.complete);
+      assertEquals(3, info.gpuTraceOptions.size());
+      assertFalse(info.activityOptions.containsKey("Frame Debugger"));
+      assertTrue(elapsed < TIMEOUT_MS / 2, "took " + elapsed + " ms");
+   }
+
+   @Test
+   void hangAfterOutputIsIncomplete() throws Exception {
+      String partial = HEADER + GPU_TRACE.substring(0, GPU_TRACE.indexOf("  --limit-to-frames"));
+      Path ngfx = fakeNgfx(partial, "sleep 30");
+
+      long start = System.nanoTime();
+      NgfxHelpInfo info = NgfxHelpParser.parse(ngfx, List.of(NgfxHelpInfo.GPU_TRACE_ACTIVITY));
+      long elapsed = elapsedSince(start);
+
+      assertFalse(info.complete);
+      assertEquals(2, info.platforms.size());
+      assertTrue(elapsed < TIMEOUT_MS + 1000, "took " + elapsed + " ms");
+   }
+
+   @Test
+   void truncatedOutputIsIncomplete() throws Exception {
+      // Dies by a signal in the middle of the activity list
+      String truncated = HEADER.substring(0, HEADER.indexOf("GPU Trace Profiler"));
+      NgfxHelpInfo info = NgfxHelpParser.parse(fakeNgfx(truncated, "kill -9 $$"), List.of(NgfxHelpInfo.GPU_TRACE_ACTIVITY));
+
+      assertFalse(info.complete);
+      assertTrue(info.gpuTraceOptions.isEmpty());
+   }
+
+   @Test
+   void nonZeroExitIsIncomplete() throws Exception {
+      NgfxHelpInfo info = NgfxHelpParser.parse(fakeNgfx(HEADER + GPU_TRACE, "exit 3"), null);
+
+      assertFalse(info.complete);
+      // Still usable for this launch
+      assertEquals(3, info.gpuTraceOptions.size());
+   }
+
+   private Path fakeNgfx(String output, String afterOutput) throws Exception {
+      Path transcript = tempDir.resolve("help.txt");
+      Files.write(transcript, output.getBytes(StandardCharsets.UTF_8));
+      Path script = tempDir.resolve("ngfx");
+      Files.write(script, ("#!/bin/sh\ncat '" + transcript + "'\n" + afterOutput + "\n").getBytes(StandardCharsets.UTF_8));
+      assertTrue(script.toFile().setExecutable(true));
+      return script;
+   }
+
+   private static String filler(String prefix, int bytes) {
+      StringBuilder sb = new StringBuilder(bytes + 128);
+      for (int i = 0; sb.length() < bytes; i++) {
+         sb.append("  --").append(prefix).append("-option-").append(i).append(" arg             Some option that isn't GPU Trace's\n");
+         sb.append("                                        with a second line of description\n");
+      }
+      return sb.toString();
+   }
+
+   private static long elapsedSince(long start) {
+      return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+   }
+}
@@ -0,0 +1,50 @@
+package dev.xirreal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Compiles the fixture transcript in {@code ngfx-help/} the way the {@code bundleNgfxSchemas} task does. */
+class NgfxSchemaBundleTest {
+
+   @TempDir
+   Path tempDir;
+
+   @Test
+   void bundlesTranscriptsByVersion() throws Exception {
+      Path transcripts = Paths.get(NgfxSchemaBundleTest.class.getResource("/ngfx-help").toURI());
+      Path output = tempDir.resolve("assets").resolve("ngfx-schemas.bin");
+
+      NgfxSchemaBundle.main(new String[] { transcripts.toString(), output.toString() });
+
+      Map<String, NgfxHelpInfo> schemas;
+      try (InputStream in = Files.newInputStream(output)) {
+         schemas = NgfxSchemaBundle.read(in);
+      }
+      NgfxHelpInfo info = NgfxSchemaBundle.find(Paths.get("/opt/nvidia/NVIDIA-Nsight-Graphics-2099.1/host/linux-desktop-nomad-x64/ngfx"), schemas);
+      assertNotNull(info);
+      assertEquals(List.of("Windows", "Linux (x86_64)"), info.platforms);
+      assertEquals(List.of("Frame Debugger", "GPU Trace Profiler"), info.activities);
+      assertEquals(3, info.gpuTraceOptions.size());
+      NgfxOption limit = info.findOption(NgfxHelpInfo.GPU_TRACE_ACTIVITY, "--limit-to-frames");
+      assertNotNull(limit);
+      assertTrue(limit.takesValue);
+      assertEquals("1", limit.defaultValue);
+      assertFalse(info.findOption(NgfxHelpInfo.GPU_TRACE_ACTIVITY, "--multi-pass-metrics").takesValue);
+
+      assertNotNull(NgfxSchemaBundle.find(Paths.get("C:/Program Files/NVIDIA Corporation/Nsight Graphics 2099.1/host/windows-desktop-nomad-x64/ngfx.exe"), schemas));
+      assertNull(NgfxSchemaBundle.find(Paths.get("/opt/nvidia/NVIDIA-Nsight-Graphics-2099.2/host/linux-desktop-nomad-x64/ngfx"), schemas));
+      assertNull(NgfxSchemaBundle.find(Paths.get("/usr/bin/ngfx"), schemas));
+   }
+}
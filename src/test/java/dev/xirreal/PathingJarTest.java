@@ -0,0 +1,145 @@
+package dev.xirreal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PathingJarTest {
+
+   @TempDir
+   Path dir;
+
+   @BeforeEach
+   void isolateDataDir() throws Exception {
+      PlatformUtils.dataDirOverride = Files.createDirectories(dir.resolve("config").resolve(GfxDebuggers.MOD_ID));
+   }
+
+   @AfterEach
+   void restoreDataDir() {
+      PlatformUtils.dataDirOverride = null;
+   }
+
+   @Test
+   void keepsJarsOfOtherInstancesUntilAbandoned() throws Exception {
+      Path current = jar("classpath-current.jar", 0);
+      Path otherInstance = jar("classpath-other.jar", 1);
+      Path abandoned = jar("classpath-abandoned.jar", 30);
+      // Written long ago but launched from yesterday
+      Path reused = jar("classpath-reused.jar", 30);
+      Files.setLastModifiedTime(Files.createFile(dir.resolve("classpath-reused.jar.used")), daysAgo(1));
+
+      PathingJar.deleteOthers(dir, current);
+
+      assertTrue(Files.exists(current));
+      assertTrue(Files.exists(otherInstance));
+      assertTrue(Files.exists(reused));
+      assertFalse(Files.exists(abandoned));
+   }
+
+   @Test
+   void manifestListsCanonicalEntriesAndTheModItself() throws Exception {
+      Path spaced = Files.createFile(Files.createDirectories(dir.resolve("lib with spaces")).resolve("a b.jar"));
+      Path target = Files.createFile(dir.resolve("target.jar"));
+      Path link = Files.createSymbolicLink(dir.resolve("link.jar"), target);
+      Path classes = Files.createDirectories(dir.resolve("classes"));
+      String classPath = String.join(File.pathSeparator,
+         spaced.toString(), link.toString(), classes.toString(), target.toString(), dir.resolve("missing.jar").toString());
+
+      Path jar = PathingJar.forClassPath(classPath);
+
+      Path self = PathingJar.ownCodeSource();
+      List<String> expected = List.of(
+         spaced.toRealPath().toUri().toASCIIString(),
+         target.toRealPath().toUri().toASCIIString(),
+         classes.toRealPath().toUri().toASCIIString(),
+         self.toUri().toASCIIString());
+      Attributes attributes;
+      try (JarFile file = new JarFile(jar.toFile())) {
+         attributes = file.getManifest().getMainAttributes();
+      }
+      assertEquals(String.join(" ", expected), attributes.getValue(Attributes.Name.CLASS_PATH));
+      assertEquals(self.toUri().toASCIIString(), attributes.getValue(PathingJar.BOOTSTRAP_ENTRY));
+      assertTrue(expected.get(0).contains("lib%20with%20spaces/a%20b.jar"), expected.get(0));
+      assertTrue(expected.get(2).endsWith("/"), expected.get(2));
+
+      // Same entries, same jar
+      assertEquals(jar, PathingJar.forClassPath(String.join(File.pathSeparator, spaced.toString(), target.toString(), classes.toString())));
+   }
+
+   @Test
+   void manifestLeavesOutTheModWhenItIsOnTheClassPath() throws Exception {
+      Path self = PathingJar.ownCodeSource();
+
+      Path jar = PathingJar.forClassPath(self.toString());
+
+      try (JarFile file = new JarFile(jar.toFile())) {
+         Attributes attributes = file.getManifest().getMainAttributes();
+         assertEquals(self.toUri().toASCIIString(), attributes.getValue(Attributes.Name.CLASS_PATH));
+         assertEquals(null, attributes.getValue(PathingJar.BOOTSTRAP_ENTRY));
+      }
+   }
+
+   @Test
+   void relaunchesFromLauncherClassPathWithoutTheMod() throws Exception {
+      // Like a normal install: the launcher's classpath has the game and the loader, the mod comes from mods/
+      Path self = PathingJar.ownCodeSource();
+      List<Path> launcherEntries = new ArrayList<>(PathingJar.canonicalEntries(System.getProperty("java.class.path")));
+      launcherEntries.remove(self);
+      String launcherClassPath = launcherEntries.stream().map(Path::toString).collect(Collectors.joining(File.pathSeparator));
+
+      Path jar = PathingJar.forClassPath(launcherClassPath);
+
+      Path java = Paths.get(System.getProperty("java.home"), "bin", "java");
+      ProcessBuilder pb = new ProcessBuilder(
+         java.toString(),
+         "-D" + GameJvm.DATA_DIR_PROPERTY + "=" + PlatformUtils.dataDirOverride,
+         "-Ddebugger=skip",
+         "-cp",
+         jar.toString(),
+         PathingJarMain.class.getName());
+      pb.redirectErrorStream(true);
+      Process game = pb.start();
+      List<String> output = new ArrayList<>();
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(game.getInputStream()))) {
+         String line;
+         while ((line = reader.readLine()) != null) {
+            output.add(line);
+         }
+      }
+      assertTrue(game.waitFor(60, TimeUnit.SECONDS), "game JVM timed out");
+      assertEquals(0, game.exitValue(), String.join("\n", output));
+
+      assertTrue(output.contains(GameJvm.STARTED), String.join("\n", output));
+      String restored = output.stream().filter(line -> line.startsWith(GameJvm.CLASS_PATH)).findFirst().orElseThrow().substring(GameJvm.CLASS_PATH.length());
+      assertEquals(launcherEntries, Arrays.stream(restored.split(File.pathSeparator)).map(Paths::get).collect(Collectors.toList()));
+   }
+
+   private Path jar(String name, int ageDays) throws Exception {
+      Path jar = Files.createFile(dir.resolve(name));
+      Files.setLastModifiedTime(jar, daysAgo(ageDays));
+      return jar;
+   }
+
+   private static FileTime daysAgo(int days) {
+      return FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days));
+   }
+}
@@ -0,0 +1,55 @@
+package dev.xirreal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PickerConfigTest {
+
+   @TempDir
+   Path tempDir;
+
+   @BeforeEach
+   void isolateDataDir() throws Exception {
+      PlatformUtils.dataDirOverride = Files.createDirectories(tempDir.resolve("config").resolve("gfx-debuggers"));
+   }
+
+   @AfterEach
+   void restoreDataDir() {
+      PlatformUtils.dataDirOverride = null;
+   }
+
+   @Test
+   void saveKeepsHandEditedSettings() {
+      Properties first = new Properties();
+      first.setProperty("debugger", "GPU_TRACE");
+      first.setProperty("platform", "Linux");
+      first.setProperty("opt.--limit-to-frames", "2");
+      PickerConfig.save(first);
+
+      // Edited by hand while the picker was open
+      Properties edited = PickerConfig.load();
+      edited.setProperty(PickerConfig.AUTO_LAUNCH, "5");
+      edited.setProperty("custom", "kept");
+      PickerConfig.save(edited);
+
+      Properties second = new Properties();
+      second.setProperty("debugger", "FRAME_DEBUGGER");
+      PickerConfig.save(second);
+
+      Properties saved = PickerConfig.load();
+      assertEquals("FRAME_DEBUGGER", saved.getProperty("debugger"));
+      assertEquals("5", saved.getProperty(PickerConfig.AUTO_LAUNCH));
+      assertEquals("kept", saved.getProperty("custom"));
+      // The earlier pick's platform and options don't leak into this one
+      assertNull(saved.getProperty("platform"));
+      assertNull(saved.getProperty("opt.--limit-to-frames"));
+   }
+}
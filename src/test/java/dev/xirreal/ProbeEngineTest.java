@@ -0,0 +1,118 @@
+package dev.xirreal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Probes that behave like a stat on a dead network mount: they block and ignore interrupts. */
+class ProbeEngineTest {
+
+   private static final long TIMEOUT_MS = 300;
+
+   private final CountDownLatch mountRecovers = new CountDownLatch(1);
+
+   @BeforeEach
+   void shortTimeout() {
+      System.setProperty("debugger.probeTimeout", Long.toString(TIMEOUT_MS));
+   }
+
+   @AfterEach
+   void releaseStuckProbes() {
+      mountRecovers.countDown();
+      System.clearProperty("debugger.probeTimeout");
+   }
+
+   @Test
+   void firstHitReturnsWithinDeadline() {
+      AtomicInteger misses = new AtomicInteger();
+      List<ProbeEngine.Candidate<String>> candidates = List.of(
+         new ProbeEngine.Candidate<>("stalled mount", this::stuck, misses::incrementAndGet),
+         new ProbeEngine.Candidate<>("slow disk", () -> sleep(TIMEOUT_MS / 3, "/slow/librenderdoc.so")));
+
+      long start = System.nanoTime();
+      String result = ProbeEngine.firstHit(candidates);
+      long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+      assertEquals("/slow/librenderdoc.so", result);
+      assertEquals(1, misses.get());
+      assertTrue(elapsed < TIMEOUT_MS + 200, "firstHit took " + elapsed + " ms");
+   }
+
+   @Test
+   void everyCandidateStuckReturnsNull() {
+      long start = System.nanoTime();
+      String result = ProbeEngine.firstHit(List.of(
+         new ProbeEngine.Candidate<>("stalled mount 1", this::stuck),
+         new ProbeEngine.Candidate<>("stalled mount 2", this::stuck)));
+      long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+      assertNull(result);
+      assertTrue(elapsed < TIMEOUT_MS + 200, "firstHit took " + elapsed + " ms");
+   }
+
+   @Test
+   void abandonedProbesDoNotStarveLaterCalls() {
+      // More stuck probes than any fixed pool would have threads
+      for (int i = 0; i < 3; i++) {
+         List<ProbeEngine.Candidate<String>> stalled = new ArrayList<>();
+         for (int j = 0; j < 4; j++) {
+            stalled.add(new ProbeEngine.Candidate<>("stalled mount " + j, this::stuck));
+         }
+         assertNull(ProbeEngine.firstHit(stalled));
+      }
+
+      long start = System.nanoTime();
+      String result = ProbeEngine.firstHit(List.of(new ProbeEngine.Candidate<>("local disk", () -> "/usr/lib/librenderdoc.so")));
+      long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+      assertEquals("/usr/lib/librenderdoc.so", result);
+      assertTrue(elapsed < TIMEOUT_MS / 2, "a fresh probe waited " + elapsed + " ms behind stuck ones");
+   }
+
+   @Test
+   void allSubstitutesFallbackForStuckInputs() {
+      List<Long> results = ProbeEngine.all(List.of("stalled", "local"), input -> input.equals("stalled") ? stuckLong() : 42L, -2L);
+
+      assertEquals(List.of(-2L, 42L), results);
+   }
+
+   private String stuck() {
+      boolean interrupted = false;
+      while (true) {
+         try {
+            mountRecovers.await();
+            break;
+         } catch (InterruptedException e) {
+            // An uninterruptible stat keeps going regardless
+            interrupted = true;
+         }
+      }
+      if (interrupted) {
+         Thread.currentThread().interrupt();
+      }
+      return null;
+   }
+
+   private Long stuckLong() {
+      stuck();
+      return null;
+   }
+
+   private static String sleep(long millis, String result) {
+      try {
+         Thread.sleep(millis);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+      return result;
+   }
+}
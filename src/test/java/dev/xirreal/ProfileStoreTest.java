@@ -0,0 +1,107 @@
+package dev.xirreal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ProfileStoreTest {
+
+   private static final List<NgfxOption> OPTIONS = List.of(
+      new NgfxOption("--limit-to-frames", true, "1", "Number of frames to trace", false, false, List.of()),
+      new NgfxOption("--multi-pass-metrics", false, null, "Collect metrics over several passes", false, false, List.of()),
+      new NgfxOption("--architecture-args", true, null, "Extra arguments for the metrics backend", false, false, List.of()),
+      new NgfxOption("--real-time-shader-profiler", true, "0", "Profile shaders in real time", false, true, List.of()));
+
+   @TempDir
+   Path tempDir;
+
+   @BeforeEach
+   void isolateDataDir() throws Exception {
+      PlatformUtils.dataDirOverride = Files.createDirectories(tempDir.resolve("data"));
+   }
+
+   @AfterEach
+   void restoreDataDir() {
+      PlatformUtils.dataDirOverride = null;
+   }
+
+   @Test
+   void switchesAndValuesFollowTheOptions() {
+      DebuggerLaunchRequest request = new DebuggerLaunchRequest(
+         DebuggerSelection.GPU_TRACE,
+         "Linux",
+         List.of("--multi-pass-metrics", "--limit-to-frames", "2", "--real-time-shader-profiler", "1"));
+
+      Properties settings = ProfileStore.toSettings(request, OPTIONS);
+
+      assertEquals("GPU_TRACE", settings.getProperty("debugger"));
+      assertEquals("Linux", settings.getProperty("platform"));
+      assertEquals("true", settings.getProperty("opt.--multi-pass-metrics"));
+      assertEquals("2", settings.getProperty("opt.--limit-to-frames"));
+      assertEquals("1", settings.getProperty("opt.--real-time-shader-profiler"));
+      assertEquals(5, settings.size());
+   }
+
+   @Test
+   void valueStartingWithDashesStaysAValue() {
+      DebuggerLaunchRequest request = new DebuggerLaunchRequest(
+         DebuggerSelection.GPU_TRACE,
+         null,
+         List.of("--architecture-args", "--verbose", "--multi-pass-metrics"));
+
+      Properties settings = ProfileStore.toSettings(request, OPTIONS);
+
+      assertEquals("--verbose", settings.getProperty("opt.--architecture-args"));
+      assertEquals("true", settings.getProperty("opt.--multi-pass-metrics"));
+      assertNull(settings.getProperty("opt.--verbose"));
+   }
+
+   @Test
+   void roundTripsThroughBuildRequestFromConfig() {
+      List<String> args = List.of("--architecture-args", "--verbose", "--limit-to-frames", "3");
+      DebuggerLaunchRequest request = new DebuggerLaunchRequest(DebuggerSelection.GPU_TRACE, null, args);
+
+      DebuggerLaunchRequest replayed = GfxDebuggers.buildRequestFromConfig(ProfileStore.toSettings(request, OPTIONS), false, true);
+
+      assertEquals(Set.copyOf(args), Set.copyOf(replayed.extraArgs));
+      assertEquals("--verbose", replayed.extraArgs.get(replayed.extraArgs.indexOf("--architecture-args") + 1));
+   }
+
+   @Test
+   void unknownFlagIsRejected() {
+      DebuggerLaunchRequest request = new DebuggerLaunchRequest(DebuggerSelection.GPU_TRACE, null, List.of("--not-an-option", "x"));
+
+      assertThrows(IllegalArgumentException.class, () -> ProfileStore.toSettings(request, OPTIONS));
+      // Without ngfx's help there is nothing to go by
+      assertThrows(IllegalArgumentException.class, () -> ProfileStore.toSettings(request, List.of()));
+   }
+
+   @Test
+   void missingValueIsRejected() {
+      DebuggerLaunchRequest request = new DebuggerLaunchRequest(DebuggerSelection.GPU_TRACE, null, List.of("--limit-to-frames"));
+
+      assertThrows(IllegalArgumentException.class, () -> ProfileStore.toSettings(request, OPTIONS));
+   }
+
+   @Test
+   void savedProfileLoadsBack() throws Exception {
+      DebuggerLaunchRequest request = new DebuggerLaunchRequest(DebuggerSelection.GPU_TRACE, null, List.of("--limit-to-frames", "2"));
+      ProfileStore.save("min", ProfileStore.toSettings(request, OPTIONS));
+      ProfileStore.save("frame", ProfileStore.toSettings(new DebuggerLaunchRequest(DebuggerSelection.FRAME_DEBUGGER), OPTIONS));
+
+      Properties min = ProfileStore.load("min");
+      assertEquals("GPU_TRACE", min.getProperty("debugger"));
+      assertEquals("2", min.getProperty("opt.--limit-to-frames"));
+      assertEquals(Set.of("frame", "min"), ProfileStore.names());
+   }
+}
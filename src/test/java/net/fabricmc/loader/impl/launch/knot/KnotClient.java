@@ -0,0 +1,17 @@
+package net.fabricmc.loader.impl.launch.knot;
+
+import dev.xirreal.GameJvm;
+
+/**
+ * Stands in for Fabric's Knot entry point in the JVMs started by {@link GameJvm}, so the relaunch code sees a game
+ * started through Knot and replays its command line as it is. Tests start it by name; it shadows the real class only
+ * in those child JVMs.
+ */
+public final class KnotClient {
+
+   private KnotClient() {}
+
+   public static void main(String[] args) {
+      GameJvm.main(args);
+   }
+}